@@ -0,0 +1,148 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.Boundary;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Purpose: checks that the standard and vector engines step Conway and Fire to the same states
+ * under every boundary, comparing the whole grid after each step, and exits with status 1 at the
+ * first step where they disagree.
+ * <p>
+ * Assumptions: run outside the GUI from the bench source root like NeighborCountBenchmark, e.g.
+ * java --add-modules jdk.incubator.vector -cp target/classes cellsociety.Model.EngineEquivalence
+ * [width] [height] [steps]. Both engines draw Fire's random numbers keyed by the same seed, step
+ * and cell, so they must agree exactly. A fixed boundary holds the live or burning state, which
+ * keeps acting on the cells along the edge.
+ * <p>
+ * Dependencies: Grid, Boundary, ConwayKernel, SwarConwayKernel, VectorLifeKernel, CellFire,
+ * FireKernel
+ *
+ * @author Jay Yoon
+ */
+public class EngineEquivalence {
+
+  private static final int DEFAULT_WIDTH = 40;
+  private static final int DEFAULT_HEIGHT = 30;
+  private static final int DEFAULT_STEPS = 20;
+  private static final int STATES = 3;
+  private static final int ALIVE_STATE = 1;
+  private static final int BURNING_STATE = 2;
+  private static final double PROB_CATCH = 30;
+  private static final long SEED = 308;
+  private static final String COLOR = "#000000";
+
+  private final int width;
+  private final int height;
+  private final int steps;
+  private final Map<Integer, String> colors = new HashMap<>();
+
+  public EngineEquivalence(int width, int height, int steps) {
+    this.width = width;
+    this.height = height;
+    this.steps = steps;
+    for (int state = 0; state < STATES; state++) {
+      colors.put(state, COLOR);
+    }
+  }
+
+  /**
+   * runs the check
+   * parameter: optional grid width, height and number of steps
+   */
+  public static void main(String[] args) {
+    int width = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_WIDTH;
+    int height = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_HEIGHT;
+    int steps = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_STEPS;
+    if (!new EngineEquivalence(width, height, steps).run()) {
+      System.exit(1);
+    }
+  }
+
+  private boolean run() {
+    boolean same = true;
+    List<Integer> life = layout(new int[]{1, 1});
+    List<Integer> forest = layout(new int[]{1, 30, 1});
+    for (Boundary boundary : Boundary.values()) {
+      same &= compare("Conway", boundary,
+          () -> kernelGrid(life, boundary, ALIVE_STATE, boundary == Boundary.CLIPPED_BOUNDARY
+              ? new SwarConwayKernel() : new ConwayKernel()),
+          () -> kernelGrid(life, boundary, ALIVE_STATE, new VectorLifeKernel(LifeRule.CONWAY)));
+      same &= compare("Fire", boundary,
+          () -> fireGrid(forest, boundary),
+          () -> kernelGrid(forest, boundary, BURNING_STATE, new FireKernel(PROB_CATCH)));
+    }
+    return same;
+  }
+
+  private boolean compare(String name, Boundary boundary, Supplier<Grid> standard,
+      Supplier<Grid> vector) {
+    Grid expected = standard.get();
+    Grid actual = vector.get();
+    for (int step = 1; step <= steps; step++) {
+      step(expected);
+      step(actual);
+      for (int i = 0; i < expected.getSize(); i++) {
+        if (expected.getType(i) != actual.getType(i)) {
+          System.out.printf("%-8s %-10s differs at step %d, cell %d: %d vs %d%n", name, boundary,
+              step, i, expected.getType(i), actual.getType(i));
+          return false;
+        }
+      }
+    }
+    System.out.printf("%-8s %-10s same for %d steps%n", name, boundary, steps);
+    return true;
+  }
+
+  private void step(Grid grid) {
+    grid.applyRules();
+    grid.update(colors);
+  }
+
+  // random states drawn with the given relative weights
+  private List<Integer> layout(int[] weights) {
+    int total = 0;
+    for (int weight : weights) {
+      total += weight;
+    }
+    SplittableRandom random = new SplittableRandom(SEED);
+    List<Integer> layout = new ArrayList<>();
+    for (int i = 0; i < width * height; i++) {
+      int draw = random.nextInt(total);
+      int state = 0;
+      while (draw >= weights[state]) {
+        draw -= weights[state++];
+      }
+      layout.add(state);
+    }
+    return layout;
+  }
+
+  private Grid grid(Boundary boundary, int fixedState) {
+    Grid grid = new Grid(width, height, STATES);
+    grid.setBoundary(boundary, fixedState);
+    grid.setSeed(SEED);
+    grid.setColorMap(colors);
+    return grid;
+  }
+
+  private Grid kernelGrid(List<Integer> layout, Boundary boundary, int fixedState,
+      GridKernel kernel) {
+    Grid grid = grid(boundary, fixedState);
+    grid.load(layout, kernel);
+    return grid;
+  }
+
+  private Grid fireGrid(List<Integer> layout, Boundary boundary) {
+    Grid grid = grid(boundary, BURNING_STATE);
+    for (int i = 0; i < layout.size(); i++) {
+      grid.place(new CellFire(layout.get(i), COLOR, i, width, PROB_CATCH));
+    }
+    grid.initiateNeighbors();
+    return grid;
+  }
+}
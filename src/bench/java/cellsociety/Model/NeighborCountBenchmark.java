@@ -0,0 +1,168 @@
+package cellsociety.Model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Purpose: measures how long a step of Conway and Fire takes when neighbors are counted one cell
+ * at a time, a row at a time with the scalar RowCounter and a row at a time with the Vector API,
+ * and prints the speedup of each row-wise variant over the cell-at-a-time one.
+ * <p>
+ * Assumptions: run outside the GUI from the bench source root, e.g. mvn -P bench compile, then
+ * java --add-modules jdk.incubator.vector -cp target/classes
+ * cellsociety.Model.NeighborCountBenchmark [size] [steps]. Without the module flag the vector rows
+ * are reported as unavailable. Every variant evaluates every cell every step, so the cell-at-a-time
+ * baseline runs without an active frontier, and each variant steps a fresh grid with the same
+ * random layout after a warm-up run.
+ * <p>
+ * Dependencies: Grid, ConwayKernel, VectorLifeKernel, CellFire, FireKernel, RowCounter
+ *
+ * @author Jay Yoon
+ */
+public class NeighborCountBenchmark {
+
+  private static final int DEFAULT_SIZE = 512;
+  private static final int DEFAULT_STEPS = 50;
+  private static final int WARMUP_RUNS = 3;
+  private static final int STATES = 3;
+  private static final double PROB_CATCH = 70;
+  private static final long SEED = 308;
+  private static final double NANOS_PER_MILLI = 1e6;
+  private static final String COLOR = "#000000";
+
+  private final int size;
+  private final int steps;
+  private final RowCounter vector = RowCounter.create();
+  private final Map<Integer, String> colors = new HashMap<>();
+
+  public NeighborCountBenchmark(int size, int steps) {
+    this.size = size;
+    this.steps = steps;
+    for (int state = 0; state < STATES; state++) {
+      colors.put(state, COLOR);
+    }
+  }
+
+  /**
+   * runs the benchmark
+   * parameter: optional grid side length and number of steps
+   */
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+    int steps = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_STEPS;
+    new NeighborCountBenchmark(size, steps).run();
+  }
+
+  private void run() {
+    System.out.printf("%dx%d grid, %d steps, vector counter %s%n", size, size, steps,
+        vector.isVectorized() ? "available" : "unavailable (add jdk.incubator.vector)");
+    List<Integer> life = layout(new int[]{1, 1});
+    compare("Conway",
+        () -> kernelGrid(life, fullSweep(new ConwayKernel())),
+        () -> kernelGrid(life, new VectorLifeKernel(LifeRule.CONWAY, new RowCounter())),
+        () -> kernelGrid(life, new VectorLifeKernel(LifeRule.CONWAY, vector)));
+    List<Integer> forest = layout(new int[]{1, 30, 1});
+    compare("Fire",
+        () -> cellGrid(forest, (type, i) -> new CellFire(type, COLOR, i, size, PROB_CATCH) {
+          @Override
+          public boolean skipsWhenUnchanged() {
+            return false;
+          }
+        }),
+        () -> kernelGrid(forest, new FireKernel(PROB_CATCH, new RowCounter())),
+        () -> kernelGrid(forest, new FireKernel(PROB_CATCH, vector)));
+  }
+
+  private void compare(String name, Supplier<Grid> cells, Supplier<Grid> scalar,
+      Supplier<Grid> rows) {
+    double base = time(cells);
+    double scalarRows = time(scalar);
+    System.out.printf("%-12s cells %8.2f ms/step | scalar rows %8.2f ms/step (%.2fx)", name,
+        base, scalarRows, base / scalarRows);
+    if (vector.isVectorized()) {
+      double vectorRows = time(rows);
+      System.out.printf(" | vector rows %8.2f ms/step (%.2fx)", vectorRows, base / vectorRows);
+    }
+    System.out.println();
+  }
+
+  private double time(Supplier<Grid> grids) {
+    for (int run = 0; run < WARMUP_RUNS; run++) {
+      step(grids.get());
+    }
+    Grid grid = grids.get();
+    long start = System.nanoTime();
+    step(grid);
+    return (System.nanoTime() - start) / NANOS_PER_MILLI / steps;
+  }
+
+  private void step(Grid grid) {
+    for (int i = 0; i < steps; i++) {
+      grid.applyRules();
+      grid.update(colors);
+    }
+  }
+
+  // random states drawn with the given relative weights
+  private List<Integer> layout(int[] weights) {
+    int total = 0;
+    for (int weight : weights) {
+      total += weight;
+    }
+    SplittableRandom random = new SplittableRandom(SEED);
+    List<Integer> layout = new ArrayList<>();
+    for (int i = 0; i < size * size; i++) {
+      int draw = random.nextInt(total);
+      int state = 0;
+      while (draw >= weights[state]) {
+        draw -= weights[state++];
+      }
+      layout.add(state);
+    }
+    return layout;
+  }
+
+  private Grid kernelGrid(List<Integer> layout, GridKernel kernel) {
+    Grid grid = new Grid(size, size, STATES);
+    grid.load(layout, kernel);
+    return grid;
+  }
+
+  // same rule without a stencil, so the Grid applies it to every row instead of active cells only
+  private static GridKernel fullSweep(GridKernel kernel) {
+    return new GridKernel() {
+      @Override
+      public void prepare(Grid grid) {
+        kernel.prepare(grid);
+      }
+
+      @Override
+      public void apply(Grid grid, int fromRow, int toRow) {
+        kernel.apply(grid, fromRow, toRow);
+      }
+
+      @Override
+      public StateStore createStore(int width, int height) {
+        return kernel.createStore(width, height);
+      }
+    };
+  }
+
+  private Grid cellGrid(List<Integer> layout, CellFactory factory) {
+    Grid grid = new Grid(size, size, STATES);
+    for (int i = 0; i < layout.size(); i++) {
+      grid.place(factory.create(layout.get(i), i));
+    }
+    grid.initiateNeighbors();
+    return grid;
+  }
+
+  private interface CellFactory {
+
+    Cell create(int type, int position);
+  }
+}
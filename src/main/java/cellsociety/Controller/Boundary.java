@@ -0,0 +1,52 @@
+package cellsociety.Controller;
+
+/**
+ * Purpose: Enum type to choose what lies past the edges of the grid - Currently supports clipped
+ * edges, a torus, reflective edges and a fixed-value border (can be extended by defining new
+ * objects)
+ * <p>
+ * Assumptions: Standard boundary is clipped, cells on the edge simply have fewer neighbors
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public enum Boundary {
+  CLIPPED_BOUNDARY {
+    /**
+     * represents clipped edges
+     * return value: String that identifies clipped boundary
+     */
+    @Override
+    public String toString() {
+      return "clipped";
+    }
+  }, TORUS_BOUNDARY {
+    /**
+     * represents edges wrapping around to the opposite side
+     * return value: String that identifies toroidal boundary
+     */
+    @Override
+    public String toString() {
+      return "torus";
+    }
+  }, REFLECTIVE_BOUNDARY {
+    /**
+     * represents edges mirroring the cells just inside them
+     * return value: String that identifies reflective boundary
+     */
+    @Override
+    public String toString() {
+      return "reflective";
+    }
+  }, FIXED_BOUNDARY {
+    /**
+     * represents a border of cells holding one fixed state
+     * return value: String that identifies fixed-value boundary
+     */
+    @Override
+    public String toString() {
+      return "fixed";
+    }
+  }
+}
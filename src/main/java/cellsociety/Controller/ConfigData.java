@@ -1,21 +1,29 @@
 package cellsociety.Controller;
 
+import cellsociety.Model.RuleTable;
 import java.util.ArrayList;
 import java.util.HashMap;
 
 /**
  * Purpose: data record to be returned by XMLController - holds configuration data about initial
- * cell layout, id, parameters, dimension, colors
+ * cell layout, id, parameters, dimension, colors, number of worker threads, engine, number of
+ * generations per step (as a power of 2), number of results the HashLife memo holds, share of
+ * Foraging Ants pheromone diffused to neighbors per step, boundary topology, state of a fixed
+ * boundary, Conway rule string in B/S or Larger than Life notation (null for B3/S23), rule table
+ * replacing the simulation's built-in rule (null if none given) and seed of every random draw
  * <p>
  * Assumptions: provided color data are valid hex color codes
  * <p>
- * Dependencies: No main dependencies
+ * Dependencies: RuleTable
  *
  * @author Jay Yoon
  */
 public record ConfigData(
     HashMap<Integer, String> cellColors,
     ArrayList<Integer> cellLayout, int id,
-    int width, int height, int prob, CellShape shape) {
+    int width, int height, int prob, CellShape shape, int parallelism,
+    Engine engine, int jump, int cacheCapacity, double diffusion, Boundary boundary,
+    int boundaryState,
+    String rule, RuleTable ruleTable, long seed) {
 
 }
@@ -0,0 +1,164 @@
+package cellsociety.Controller;
+
+/**
+ * Purpose: Enum type to choose the backend stepping a simulation - Currently supports the default
+ * backend of every simulation, and for Conway the HashLife universe and the sparse tiled universe,
+ * row-wise neighbor counting with the Vector API for Conway and Fire, the union-find solver for
+ * Percolation, the chunked bottom-up sweep for Sand and 2x2 block (Margolus) updates for Sand and
+ * Predation movement (can be extended by defining new objects)
+ * <p>
+ * Assumptions: Standard engine is the default backend of each simulation (the bit-packed grid for
+ * Conway, clipped at the grid's edges). Every other engine only steps the simulations it supports,
+ * so a configuration pairing it with another simulation is rejected when loaded. The HashLife,
+ * sparse, Margolus, solver and sweep engines only run under the default clipped boundary: HashLife
+ * and sparse continue the plane past the grid and the others treat cells past an edge as walls, so
+ * other boundaries are rejected too. The vector engine falls back to scalar counting when the JVM
+ * runs without the jdk.incubator.vector module
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public enum Engine {
+  STANDARD_ENGINE {
+    /**
+     * represents default engine of every simulation
+     * return value: String that identifies standard engine
+     */
+    @Override
+    public String toString() {
+      return "standard";
+    }
+
+    @Override
+    public boolean supports(int simulationId) {
+      return true;
+    }
+  }, HASHLIFE_ENGINE {
+    /**
+     * represents HashLife engine
+     * return value: String that identifies HashLife engine
+     */
+    @Override
+    public String toString() {
+      return "hashlife";
+    }
+
+    @Override
+    public boolean supports(int simulationId) {
+      return simulationId == SimulationId.CONWAY_ID;
+    }
+
+    @Override
+    public boolean supports(Boundary boundary) {
+      return boundary == Boundary.CLIPPED_BOUNDARY;
+    }
+  }, SPARSE_ENGINE {
+    /**
+     * represents sparse tiled engine
+     * return value: String that identifies sparse engine
+     */
+    @Override
+    public String toString() {
+      return "sparse";
+    }
+
+    @Override
+    public boolean supports(int simulationId) {
+      return simulationId == SimulationId.CONWAY_ID;
+    }
+
+    @Override
+    public boolean supports(Boundary boundary) {
+      return boundary == Boundary.CLIPPED_BOUNDARY;
+    }
+  }, VECTOR_ENGINE {
+    /**
+     * represents row-wise vector counting engine
+     * return value: String that identifies vector engine
+     */
+    @Override
+    public String toString() {
+      return "vector";
+    }
+
+    @Override
+    public boolean supports(int simulationId) {
+      return simulationId == SimulationId.CONWAY_ID || simulationId == SimulationId.FIRE_ID;
+    }
+  }, MARGOLUS_ENGINE {
+    /**
+     * represents 2x2 block engine for Sand and Predation movement
+     * return value: String that identifies Margolus engine
+     */
+    @Override
+    public String toString() {
+      return "margolus";
+    }
+
+    @Override
+    public boolean supports(int simulationId) {
+      return simulationId == SimulationId.SAND_ID || simulationId == SimulationId.PREDATION_ID;
+    }
+
+    @Override
+    public boolean supports(Boundary boundary) {
+      return boundary == Boundary.CLIPPED_BOUNDARY;
+    }
+  }, SWEEP_ENGINE {
+    /**
+     * represents chunked bottom-up sweep for Sand
+     * return value: String that identifies sweep engine
+     */
+    @Override
+    public String toString() {
+      return "sweep";
+    }
+
+    @Override
+    public boolean supports(int simulationId) {
+      return simulationId == SimulationId.SAND_ID;
+    }
+
+    @Override
+    public boolean supports(Boundary boundary) {
+      return boundary == Boundary.CLIPPED_BOUNDARY;
+    }
+  }, SOLVER_ENGINE {
+    /**
+     * represents union-find Percolation solver
+     * return value: String that identifies solver engine
+     */
+    @Override
+    public String toString() {
+      return "solver";
+    }
+
+    @Override
+    public boolean supports(int simulationId) {
+      return simulationId == SimulationId.PERCOLATION_ID;
+    }
+
+    @Override
+    public boolean supports(Boundary boundary) {
+      return boundary == Boundary.CLIPPED_BOUNDARY;
+    }
+  };
+
+
+  /**
+   * tells whether the engine can step a simulation
+   * parameter: id of simulation
+   * return value: true if the engine has a backend for the simulation
+   */
+  public abstract boolean supports(int simulationId);
+
+  /**
+   * tells whether the engine follows a boundary topology
+   * parameter: boundary of the grid
+   * return value: true if the engine steps the grid under that boundary
+   */
+  public boolean supports(Boundary boundary) {
+    return true;
+  }
+}
@@ -0,0 +1,70 @@
+package cellsociety.Controller;
+
+import cellsociety.Model.NewmanZiff;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.Locale;
+
+/**
+ * Purpose: batch analysis of percolation thresholds, run outside the GUI. Reads the grid size of a
+ * Percolation configuration, runs a Newman-Ziff sweep over many replicas on all cores, and writes
+ * the averaged spanning probability and largest cluster size for every number of open sites as
+ * CSV.
+ * <p>
+ * Assumptions: run as java -cp target/classes cellsociety.Controller.PercolationSweep [config]
+ * [replicas] [output] [seed]; defaults are data/ConfigurationPercolation.xml, 1000 replicas,
+ * percolation_sweep.csv and seed 0. The configuration's parallelism is used when it is above 1,
+ * otherwise every available processor.
+ * <p>
+ * Dependencies: XMLController, ConfigData, NewmanZiff
+ *
+ * @author Jay Yoon
+ */
+public class PercolationSweep {
+
+  private static final String DEFAULT_CONFIG = "data/ConfigurationPercolation.xml";
+  private static final int DEFAULT_REPLICAS = 1000;
+  private static final String DEFAULT_OUTPUT = "percolation_sweep.csv";
+  private static final String LANGUAGE = "ENG";
+  private static final String HEADER = "open_sites,occupation,spanning_probability,"
+      + "largest_cluster_fraction";
+
+  /**
+   * runs a sweep and writes its CSV
+   * parameter: optional configuration file, number of replicas, output file and seed
+   */
+  public static void main(String[] args) {
+    File config = new File(args.length > 0 ? args[0] : DEFAULT_CONFIG);
+    int replicas = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REPLICAS;
+    File output = new File(args.length > 2 ? args[2] : DEFAULT_OUTPUT);
+    long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+    ConfigData data = new XMLController(LANGUAGE).loadConfig(config);
+    int parallelism = data.parallelism() > 1 ? data.parallelism()
+        : Runtime.getRuntime().availableProcessors();
+    long start = System.nanoTime();
+    NewmanZiff.Curve curve = new NewmanZiff(data.width(), data.height())
+        .sweep(replicas, seed, parallelism);
+    try {
+      write(curve, output);
+    } catch (FileNotFoundException e) {
+      throw new IllegalArgumentException("cannot write " + output, e);
+    }
+    System.out.printf("%d replicas of %dx%d in %d ms on %d threads, written to %s%n", replicas,
+        data.width(), data.height(), (System.nanoTime() - start) / 1_000_000, parallelism, output);
+  }
+
+  /**
+   * writes a curve as CSV, one line per number of open sites
+   * parameter: averaged Curve, file to write
+   */
+  public static void write(NewmanZiff.Curve curve, File output) throws FileNotFoundException {
+    try (PrintWriter csv = new PrintWriter(output)) {
+      csv.println(HEADER);
+      for (int n = 1; n <= curve.sites(); n++) {
+        csv.println(String.format(Locale.ROOT, "%d,%.6f,%.6f,%.6f", n, curve.fraction(n),
+            curve.spanning()[n - 1], curve.largest()[n - 1]));
+      }
+    }
+  }
+}
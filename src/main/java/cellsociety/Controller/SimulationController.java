@@ -12,6 +12,7 @@ import javafx.scene.shape.Polygon;
 import javafx.util.Duration;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 
 /**
@@ -29,15 +30,6 @@ public class SimulationController {
 
   public static final double SECOND_DELAY = 0.5;
   private static final double SPEED_FACTOR = 0.5;
-  private static final int CONWAY_ID = 1;
-  private static final int FIRE_ID = 2;
-  private static final int SEGREGATION_ID = 3;
-  private static final int PREDATION_ID = 4;
-  private static final int PERCOLATION_ID = 5;
-  private static final int SAND_ID = 6;
-  private static final int SUGAR_ID = 7;
-  private static final int ANT_ID = 8;
-  private static final int LANGTON_ID = 9;
   private ArrayList<Integer> initialLayout;
   private ArrayList<Polygon> cellList;
   private HashMap<Integer, String> colorMap;
@@ -51,6 +43,14 @@ public class SimulationController {
   private ConfigData settings;
   private AboutData about;
   private CellShape shape;
+  private Engine engine;
+  private int jump;
+  private int cacheCapacity;
+  private double diffusion;
+  private String rule;
+  private RuleTable ruleTable;
+  private PercolationKernel percolation;
+  private HashLifeKernel hashLife;
   private PolygonCell cellGUI;
 
   public SimulationController(ConfigData data, AboutData aboutData, String langOption) {
@@ -59,10 +59,20 @@ public class SimulationController {
     this.about = aboutData;
     this.simulationId = data.id();
     this.initialLayout = data.cellLayout();
-    this.grid = new Grid(data.width(), data.height());
+    this.grid = new Grid(data.width(), data.height(),
+        Collections.max(data.cellColors().keySet()) + 1);
+    this.grid.setBoundary(data.boundary(), data.boundaryState());
+    this.grid.setSeed(data.seed());
+    this.grid.setParallelism(data.parallelism());
     this.cellGUI = new RectangleCell();
     this.cellList = new ArrayList<>();
     this.shape = data.shape();
+    this.engine = data.engine();
+    this.jump = data.jump();
+    this.cacheCapacity = data.cacheCapacity();
+    this.diffusion = data.diffusion();
+    this.rule = data.rule();
+    this.ruleTable = data.ruleTable();
     this.colorMap = data.cellColors();
     this.width = data.width();
     this.height = data.height();
@@ -86,35 +96,146 @@ public class SimulationController {
   }
 
   private void initiateGrid() {
+    grid.setColorMap(colorMap);
+    if (ruleTable != null) {
+      grid.load(initialLayout, new RuleTableKernel(ruleTable));
+      return;
+    }
+    if (simulationId == SimulationId.CONWAY_ID && shape == CellShape.STANDARD_CELL) {
+      grid.load(initialLayout, conwayKernel());
+      return;
+    }
+    if (simulationId == SimulationId.PERCOLATION_ID && engine == Engine.SOLVER_ENGINE) {
+      percolation = new PercolationKernel();
+      grid.load(initialLayout, percolation);
+      return;
+    }
+    if (simulationId == SimulationId.FIRE_ID && engine == Engine.VECTOR_ENGINE) {
+      grid.load(initialLayout, new FireKernel(prob));
+      return;
+    }
+    if (simulationId == SimulationId.SAND_ID && engine == Engine.SWEEP_ENGINE) {
+      grid.load(initialLayout, new SandKernel());
+      return;
+    }
+    if (engine == Engine.MARGOLUS_ENGINE
+        && (simulationId == SimulationId.SAND_ID || simulationId == SimulationId.PREDATION_ID)) {
+      grid.load(initialLayout, new MargolusKernel(
+          simulationId == SimulationId.SAND_ID ? CellSand.blockRule() : CellPredation.blockRule()));
+      return;
+    }
+    if (simulationId == SimulationId.ANT_ID) {
+      grid.load(initialLayout, new AntKernel((float) diffusion));
+      return;
+    }
+    if (simulationId == SimulationId.LANGTON_ID) {
+      grid.load(initialLayout, new LangtonKernel());
+      return;
+    }
+    if (simulationId == SimulationId.PREDATION_ID || simulationId == SimulationId.SUGAR_ID) {
+      int fields = simulationId == SimulationId.PREDATION_ID ? CellPredation.AGENT_FIELDS
+          : CellSugarAgent.AGENT_FIELDS;
+      grid.setAgents(new AgentStore(width, height, fields, grid.getSize()));
+    }
+    SugarLandscape landscape = simulationId == SimulationId.SUGAR_ID
+        ? CellSugarAgent.createLandscape(width, height) : null;
     for (int i = 0; i < initialLayout.size(); i++) {
       int cellType = initialLayout.get(i);
       switch (simulationId) {
-        case CONWAY_ID -> {
-          if (shape == CellShape.STANDARD_CELL) {
-            grid.place(new CellConway(cellType, colorMap.get(cellType), i, width));
-          } else {
-            grid.place(new HexCellConway(cellType, colorMap.get(cellType), i, width));
-            cellGUI = new HexagonCell();
-          }
+        case SimulationId.CONWAY_ID -> {
+          grid.place(new HexCellConway(cellType, colorMap.get(cellType), i, width, lifeRule()));
+          cellGUI = new HexagonCell();
         }
-        case FIRE_ID -> grid.place(new CellFire(cellType, colorMap.get(cellType), i, width, prob));
-        case SEGREGATION_ID ->
+        case SimulationId.FIRE_ID ->
+            grid.place(new CellFire(cellType, colorMap.get(cellType), i, width, prob));
+        case SimulationId.SEGREGATION_ID ->
             grid.place(new CellSegregation(cellType, colorMap.get(cellType), i, width, prob));
-        case PREDATION_ID ->
+        case SimulationId.PREDATION_ID ->
             grid.place(new CellPredation(cellType, colorMap.get(cellType), i, width));
-        case PERCOLATION_ID ->
+        case SimulationId.PERCOLATION_ID ->
             grid.place(new CellPercolation(cellType, colorMap.get(cellType), i, width));
-        case SAND_ID -> grid.place(new CellSand(cellType, colorMap.get(cellType), i, width));
-        case SUGAR_ID -> grid.place(new CellSugarAgent(cellType, colorMap.get(cellType), i, width));
-        case ANT_ID -> grid.place(new CellAnt(cellType, colorMap.get(cellType), i, width));
-        case LANGTON_ID -> grid.place(new CellLangton(cellType, colorMap.get(cellType), i, width));
+        case SimulationId.SAND_ID ->
+            grid.place(new CellSand(cellType, colorMap.get(cellType), i, width));
+        case SimulationId.SUGAR_ID -> grid.place(
+            new CellSugarAgent(cellType, colorMap.get(cellType), i, width, landscape));
       }
     }
     grid.initiateNeighbors();
   }
 
+  private LifeRule lifeRule() {
+    return rule == null ? LifeRule.CONWAY : LifeRule.parse(rule);
+  }
+
+  // B3/S23 keeps the Conway engines, any other rule gets the generic kernel of its notation unless
+  // the vector engine counts it row by row; XMLController rejects rules the other engines cannot
+  // step
+  private GridKernel conwayKernel() {
+    if (rule != null && LargerThanLifeRule.accepts(rule)) {
+      return new LargerThanLifeKernel(LargerThanLifeRule.parse(rule));
+    }
+    boolean rows = engine == Engine.VECTOR_ENGINE && !lifeRule().hex();
+    if (!lifeRule().equals(LifeRule.CONWAY) && !rows) {
+      return new LifeRuleKernel(lifeRule());
+    }
+    return switch (engine) {
+      case VECTOR_ENGINE -> new VectorLifeKernel(lifeRule());
+      case HASHLIFE_ENGINE -> {
+        hashLife = new HashLifeKernel(jump, cacheCapacity);
+        yield hashLife;
+      }
+      case SPARSE_ENGINE -> new SparseLifeKernel();
+      case STANDARD_ENGINE -> grid.getBoundary() == Boundary.CLIPPED_BOUNDARY
+          ? new SwarConwayKernel() : new ConwayKernel();
+      default -> throw new IllegalStateException("engine cannot step Conway: " + engine);
+    };
+  }
+
   private void initiateGUI() {
     cellList = cellGUI.drawCells(grid);
+    if (percolation != null) {
+      for (int i = 0; i < cellList.size(); i++) {
+        int index = i;
+        cellList.get(i).setOnMouseClicked(e -> handleOpenSite(index));
+      }
+    }
+  }
+
+  /**
+   * opens a blocked site of a Percolation simulation stepped by the solver, when the user clicks
+   * it; water reaches it from the next step on if it joins a wet cluster
+   * parameter: position of clicked cell
+   */
+  public void handleOpenSite(int index) {
+    if (percolation != null) {
+      percolation.open(index);
+    }
+  }
+
+  /**
+   * tells whether a Percolation simulation stepped by the solver percolates
+   * return value: true if water can flow from the top row to the bottom row, false for other
+   * simulations
+   */
+  public boolean percolates() {
+    return percolation != null && percolation.getSolver(grid).percolates();
+  }
+
+  /**
+   * tells whether the simulation is Percolation stepped by the solver, which can answer percolates
+   * return value: true if percolates reflects the grid
+   */
+  public boolean hasPercolationSolver() {
+    return percolation != null;
+  }
+
+  /**
+   * gets memo cache statistics of a Conway simulation stepped by HashLife, to tune its
+   * cacheCapacity
+   * return value: CacheStats of the universe, null for other engines
+   */
+  public HashLife.CacheStats getCacheStats() {
+    return hashLife == null ? null : hashLife.getUniverse().getCacheStats();
   }
 
   /**
@@ -162,10 +283,7 @@ public class SimulationController {
   private void loadNewLayout() {
     grid.update(colorMap);
     ArrayList<ImmutableCell> cells = (ArrayList<ImmutableCell>) grid.getCells();
-    for (int i = 0; i < cells.size(); i++) {
-      String hex = cells.get(i).getColor();
-      cellList.get(i).setFill(Color.web(hex));
-    }
+    grid.forEachChanged(i -> cellList.get(i).setFill(Color.web(cells.get(i).getColor())));
   }
 
   /**
@@ -0,0 +1,28 @@
+package cellsociety.Controller;
+
+/**
+ * Purpose: ids of the simulations, as given by the id tag of a configuration file - shared by
+ * XMLController, SimulationController and Engine so the three cannot drift apart
+ * <p>
+ * Assumptions: ids run from CONWAY_ID to RULE_TABLE_ID without gaps
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public final class SimulationId {
+
+  public static final int CONWAY_ID = 1;
+  public static final int FIRE_ID = 2;
+  public static final int SEGREGATION_ID = 3;
+  public static final int PREDATION_ID = 4;
+  public static final int PERCOLATION_ID = 5;
+  public static final int SAND_ID = 6;
+  public static final int SUGAR_ID = 7;
+  public static final int ANT_ID = 8;
+  public static final int LANGTON_ID = 9;
+  public static final int RULE_TABLE_ID = 10;
+
+  private SimulationId() {
+  }
+}
@@ -1,8 +1,15 @@
 package cellsociety.Controller;
 
 
+import cellsociety.Model.CounterRandom;
 import cellsociety.Model.Grid;
+import cellsociety.Model.HashLife;
+import cellsociety.Model.HashLifeKernel;
 import cellsociety.Model.ImmutableCell;
+import cellsociety.Model.LargerThanLifeRule;
+import cellsociety.Model.LifeRule;
+import cellsociety.Model.NeighborhoodKind;
+import cellsociety.Model.RuleTable;
 import java.io.FileOutputStream;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
@@ -31,6 +38,7 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Scanner;
 
@@ -77,8 +85,48 @@ public class XMLController {
   private static final String ROOT_TAG = "simulation";
   private static final String HEX_TAG = "hex";
   private static final String SHAPE_TAG = "cellShape";
-  private static final int MIN_SIMULATION_ID = 1;
-  private static final int MAX_SIMULATION_ID = 10;
+  private static final String PARALLELISM_TAG = "parallelism";
+  private static final int DEFAULT_PARALLELISM = 1;
+  private static final String ENGINE_TAG = "engine";
+  private static final String STANDARD_TAG = "standard";
+  private static final String HASHLIFE_TAG = "hashlife";
+  private static final String SPARSE_TAG = "sparse";
+  private static final String VECTOR_TAG = "vector";
+  private static final String SOLVER_TAG = "solver";
+  private static final String MARGOLUS_TAG = "margolus";
+  private static final String SWEEP_TAG = "sweep";
+  private static final String JUMP_TAG = "jump";
+  private static final int DEFAULT_JUMP = 0;
+  private static final int MIN_JUMP = 0;
+  private static final String CACHE_CAPACITY_TAG = "cacheCapacity";
+  private static final int MIN_CACHE_CAPACITY = 1;
+  private static final String DIFFUSION_TAG = "diffusion";
+  private static final double DEFAULT_DIFFUSION = 0;
+  private static final int MIN_DIFFUSION = 0;
+  private static final int MAX_DIFFUSION = 1;
+  private static final String SEED_TAG = "seed";
+  private static final String BOUNDARY_TAG = "boundary";
+  private static final String CLIPPED_TAG = "clipped";
+  private static final String TORUS_TAG = "torus";
+  private static final String REFLECTIVE_TAG = "reflective";
+  private static final String FIXED_TAG = "fixed";
+  private static final String BOUNDARY_STATE_TAG = "boundaryState";
+  private static final int DEFAULT_BOUNDARY_STATE = 0;
+  private static final String RULE_TAG = "rule";
+  private static final String RULE_TABLE_TAG = "ruleTable";
+  private static final String NEIGHBORHOOD_TAG = "neighborhood";
+  private static final String MOORE_TAG = "moore";
+  private static final String VON_NEUMANN_TAG = "vonNeumann";
+  private static final String TRANSITION_TAG = "transition";
+  private static final String FROM_TAG = "from";
+  private static final String TO_TAG = "to";
+  private static final String NEIGHBOR_TAG = "neighbor";
+  private static final String MIN_TAG = "min";
+  private static final String MAX_TAG = "max";
+  private static final int DEFAULT_MIN = 0;
+  private static final int DEFAULT_MAX = Integer.MAX_VALUE;
+  private static final int MIN_SIMULATION_ID = SimulationId.CONWAY_ID;
+  private static final int MAX_SIMULATION_ID = SimulationId.RULE_TABLE_ID;
   private static final String ERROR_LAYOUT_404 = "LAYOUT_404";
   private static final String ERROR_PARSER_EXCEPTION = "PARSER_EXCEPTION";
   private static final String ERROR_LAYOUT_FORMAT = "LAYOUT_FORMAT";
@@ -89,10 +137,16 @@ public class XMLController {
   private static final String ERROR_MISSING_TAG = "MISSING_TAG";
   private static final String ERROR_INVALID_SIMULATION = "INVALID_SIMULATION";
   private static final String ERROR_LAYOUT_OOB = "LAYOUT_OOB";
+  private static final String ERROR_INVALID_ENGINE = "INVALID_ENGINE";
+  private static final String ERROR_OUT_OF_RANGE = "OUT_OF_RANGE";
+  private static final String ERROR_INVALID_ENGINE_RULE = "INVALID_ENGINE_RULE";
+  private static final String ERROR_INVALID_BOUNDARY = "INVALID_BOUNDARY";
+  private static final String ERROR_INVALID_ENGINE_BOUNDARY = "INVALID_ENGINE_BOUNDARY";
   private static final String RANDOM = "random";
   private HashMap<Integer, String> cellColors;
   private int width;
   private int height;
+  private long seed;
   private ResourceBundle resourceBundle;
 
   public XMLController(String lang) {
@@ -119,14 +173,31 @@ public class XMLController {
       cellColors = readColors(doc);
       width = readDimension(doc, WIDTH_TAG);
       height = readDimension(doc, HEIGHT_TAG);
+      seed = readSeed(doc);
       ArrayList<Integer> cellStartingLayout = readLayout(doc);
       int simulationId = readDimension(doc, ID_TAG);
       checkSimulationId(simulationId);
       int probability = readProperties(doc);
       CellShape shape = readShape(doc);
+      int parallelism = readOptionalNumber(doc, PARALLELISM_TAG, DEFAULT_PARALLELISM);
+      Engine engine = readEngine(doc, simulationId);
+      int jump = readNumberInRange(doc, JUMP_TAG, DEFAULT_JUMP, MIN_JUMP, HashLife.MAX_STEP);
+      int cacheCapacity = readNumberInRange(doc, CACHE_CAPACITY_TAG,
+          HashLifeKernel.DEFAULT_CACHE_CAPACITY, MIN_CACHE_CAPACITY, Integer.MAX_VALUE);
+      double diffusion = readDiffusion(doc);
+      Boundary boundary = readBoundary(doc, engine);
+      int boundaryState = readOptionalNumber(doc, BOUNDARY_STATE_TAG, DEFAULT_BOUNDARY_STATE);
+      String rule = readRule(doc, shape);
+      RuleTable ruleTable = readRuleTable(doc);
+      if (simulationId == SimulationId.RULE_TABLE_ID && ruleTable == null) {
+        throw new XMLException(
+            String.format(resourceBundle.getString(ERROR_MISSING_TAG), RULE_TABLE_TAG));
+      }
+      checkEngineRule(engine, simulationId, shape, ruleTable != null ? RULE_TABLE_TAG : rule);
 
       return new ConfigData(cellColors, cellStartingLayout, simulationId, width, height,
-          probability, shape);
+          probability, shape, parallelism, engine, jump, cacheCapacity, diffusion, boundary,
+          boundaryState, rule, ruleTable, seed);
 
     } catch (ParserConfigurationException | IOException | SAXException |
              IllegalArgumentException e) {
@@ -216,13 +287,26 @@ public class XMLController {
     }
   }
 
+  // drawn in generation 0 of the simulation's seed, so a random layout replays with its seed
   private void randomizeLayout(Set<Integer> cellTypes, ArrayList<Integer> list) {
     ArrayList<Integer> types = new ArrayList<>(cellTypes);
+    CounterRandom random = new CounterRandom(seed);
     int totalCells = width * height;
     for (int i = 0; i < totalCells; i++) {
-      SplittableRandom random = new SplittableRandom();
-      int p = random.nextInt(cellTypes.size());
-      list.add(types.get(p));
+      list.add(types.get(random.nextInt(0, i, 0, cellTypes.size())));
+    }
+  }
+
+  // seed given in the file, or a fresh one that is kept in ConfigData and written back on save
+  private long readSeed(Document doc) {
+    Element element = (Element) doc.getElementsByTagName(STARTING_TAG).item(0);
+    if (element.getElementsByTagName(SEED_TAG).item(0) == null) {
+      return new SplittableRandom().nextLong();
+    }
+    try {
+      return Long.parseLong(getValue(element, SEED_TAG).trim());
+    } catch (NumberFormatException e) {
+      throw new XMLException(String.format(resourceBundle.getString(ERROR_NUMERIC), SEED_TAG));
     }
   }
 
@@ -251,12 +335,163 @@ public class XMLController {
     }
   }
 
+  private Engine readEngine(Document doc, int simulationId) {
+    Element element = (Element) doc.getElementsByTagName(STARTING_TAG).item(0);
+    if (element.getElementsByTagName(ENGINE_TAG).item(0) == null) {
+      return Engine.STANDARD_ENGINE;
+    }
+    String s = getValue(element, ENGINE_TAG);
+    Engine engine = switch (s) {
+      case STANDARD_TAG -> Engine.STANDARD_ENGINE;
+      case HASHLIFE_TAG -> Engine.HASHLIFE_ENGINE;
+      case SPARSE_TAG -> Engine.SPARSE_ENGINE;
+      case VECTOR_TAG -> Engine.VECTOR_ENGINE;
+      case SOLVER_TAG -> Engine.SOLVER_ENGINE;
+      case MARGOLUS_TAG -> Engine.MARGOLUS_ENGINE;
+      case SWEEP_TAG -> Engine.SWEEP_ENGINE;
+      default -> null;
+    };
+    if (engine == null || !engine.supports(simulationId)) {
+      throw new XMLException(
+          String.format(resourceBundle.getString(ERROR_INVALID_ENGINE), s, simulationId));
+    }
+    return engine;
+  }
+
+  private Boundary readBoundary(Document doc, Engine engine) {
+    Element element = (Element) doc.getElementsByTagName(STARTING_TAG).item(0);
+    if (element.getElementsByTagName(BOUNDARY_TAG).item(0) == null) {
+      return Boundary.CLIPPED_BOUNDARY;
+    }
+    String s = getValue(element, BOUNDARY_TAG);
+    Boundary boundary = switch (s) {
+      case CLIPPED_TAG -> Boundary.CLIPPED_BOUNDARY;
+      case TORUS_TAG -> Boundary.TORUS_BOUNDARY;
+      case REFLECTIVE_TAG -> Boundary.REFLECTIVE_BOUNDARY;
+      case FIXED_TAG -> Boundary.FIXED_BOUNDARY;
+      default -> throw new XMLException(
+          String.format(resourceBundle.getString(ERROR_INVALID_BOUNDARY), s));
+    };
+    if (!engine.supports(boundary)) {
+      throw new XMLException(
+          String.format(resourceBundle.getString(ERROR_INVALID_ENGINE_BOUNDARY), engine, s));
+    }
+    return boundary;
+  }
+
+  // an engine other than the standard one only steps the rules it implements on standard cells,
+  // anything else would quietly run on another backend
+  private void checkEngineRule(Engine engine, int simulationId, CellShape shape, String rule) {
+    if (engine == Engine.STANDARD_ENGINE
+        || simulationId != SimulationId.CONWAY_ID && !RULE_TABLE_TAG.equals(rule)) {
+      return;
+    }
+    boolean lifeRule = rule == null || !RULE_TABLE_TAG.equals(rule)
+        && !LargerThanLifeRule.accepts(rule);
+    boolean supported = shape == CellShape.STANDARD_CELL && lifeRule && switch (engine) {
+      case VECTOR_ENGINE -> rule == null || !LifeRule.parse(rule).hex();
+      case HASHLIFE_ENGINE, SPARSE_ENGINE -> rule == null
+          || LifeRule.parse(rule).equals(LifeRule.CONWAY);
+      default -> true;
+    };
+    if (!supported) {
+      throw new XMLException(String.format(resourceBundle.getString(ERROR_INVALID_ENGINE_RULE),
+          engine, rule == null ? LifeRule.CONWAY : rule, shape));
+    }
+  }
+
+  // rule strings are parsed here so a malformed rule is reported when the file is loaded
+  private String readRule(Document doc, CellShape shape) {
+    Element element = (Element) doc.getElementsByTagName(STARTING_TAG).item(0);
+    if (element.getElementsByTagName(RULE_TAG).item(0) == null) {
+      return null;
+    }
+    String s = getValue(element, RULE_TAG).trim();
+    if (!LargerThanLifeRule.accepts(s)) {
+      LifeRule.parse(s);
+    } else if (shape == CellShape.HEX_CELL) {
+      throw new IllegalArgumentException("Larger than Life rules need standard cells: " + s);
+    } else {
+      LargerThanLifeRule.parse(s);
+    }
+    return s;
+  }
+
+  // states of the table are the cell types listed in the file
+  private RuleTable readRuleTable(Document doc) {
+    Element element = (Element) doc.getElementsByTagName(RULE_TABLE_TAG).item(0);
+    if (element == null) {
+      return null;
+    }
+    NeighborhoodKind kind = NeighborhoodKind.MOORE;
+    if (element.getElementsByTagName(NEIGHBORHOOD_TAG).item(0) != null
+        && getValue(element, NEIGHBORHOOD_TAG).trim().equals(VON_NEUMANN_TAG)) {
+      kind = NeighborhoodKind.VON_NEUMANN;
+    }
+    ArrayList<RuleTable.Transition> transitions = new ArrayList<>();
+    NodeList nodeList = element.getElementsByTagName(TRANSITION_TAG);
+    for (int i = 0; i < nodeList.getLength(); i++) {
+      Element e = (Element) nodeList.item(i);
+      transitions.add(new RuleTable.Transition(
+          readTransitionValue(e, FROM_TAG, RuleTable.ANY),
+          Integer.parseInt(getValue(e, TO_TAG).trim()),
+          readTransitionValue(e, NEIGHBOR_TAG, RuleTable.ANY),
+          readTransitionValue(e, MIN_TAG, DEFAULT_MIN),
+          readTransitionValue(e, MAX_TAG, DEFAULT_MAX)));
+    }
+    return new RuleTable(Collections.max(cellColors.keySet()) + 1, kind, transitions);
+  }
+
+  private int readTransitionValue(Element transition, String tagName, int defaultValue) {
+    if (transition.getElementsByTagName(tagName).item(0) == null) {
+      return defaultValue;
+    }
+    return Integer.parseInt(getValue(transition, tagName).trim());
+  }
+
   private int readProperties(Document doc) {
     NodeList nodeList = doc.getElementsByTagName(STARTING_TAG);
     Node node = nodeList.item(0);
     return Integer.parseInt(getValue(node, PROB_TAG));
   }
 
+  private int readOptionalNumber(Document doc, String target, int defaultValue) {
+    Element element = (Element) doc.getElementsByTagName(STARTING_TAG).item(0);
+    if (element.getElementsByTagName(target).item(0) == null) {
+      return defaultValue;
+    }
+    return readDimension(doc, target);
+  }
+
+  private int readNumberInRange(Document doc, String target, int defaultValue, int min, int max) {
+    int value = readOptionalNumber(doc, target, defaultValue);
+    if (value < min || value > max) {
+      throw new XMLException(
+          String.format(resourceBundle.getString(ERROR_OUT_OF_RANGE), target, min, max));
+    }
+    return value;
+  }
+
+  // share of pheromone a Foraging Ants cell spreads to its neighbors per step, a fraction
+  private double readDiffusion(Document doc) {
+    Element element = (Element) doc.getElementsByTagName(STARTING_TAG).item(0);
+    if (element.getElementsByTagName(DIFFUSION_TAG).item(0) == null) {
+      return DEFAULT_DIFFUSION;
+    }
+    double diffusion;
+    try {
+      diffusion = Double.parseDouble(getValue(element, DIFFUSION_TAG).trim());
+    } catch (NumberFormatException e) {
+      throw new XMLException(
+          String.format(resourceBundle.getString(ERROR_NUMERIC), DIFFUSION_TAG));
+    }
+    if (!(diffusion >= MIN_DIFFUSION && diffusion <= MAX_DIFFUSION)) {
+      throw new XMLException(String.format(resourceBundle.getString(ERROR_OUT_OF_RANGE),
+          DIFFUSION_TAG, MIN_DIFFUSION, MAX_DIFFUSION));
+    }
+    return diffusion;
+  }
+
   private String getValue(Node node, String tagName) {
     if (node.getNodeType() == Node.ELEMENT_NODE) {
       Element element = (Element) node;
@@ -300,6 +535,9 @@ public class XMLController {
       Element rootEle = dom.createElement(ROOT_TAG);
       writeHeader(dom, rootEle, newLayout, settings, about);
       writeCellType(dom, rootEle, settings.cellColors());
+      if (settings.ruleTable() != null) {
+        writeRuleTable(dom, rootEle, settings.ruleTable());
+      }
       dom.appendChild(rootEle);
 
       exportFile(dom, loc);
@@ -330,6 +568,17 @@ public class XMLController {
     writeElement(dom, head, SHAPE_TAG, settings.shape().toString());
     writeElement(dom, head, LAYOUT_TAG, newLayout.substring(newLayout.lastIndexOf("/") + 1));
     writeElement(dom, head, PROB_TAG, Integer.toString(settings.prob()));
+    writeElement(dom, head, PARALLELISM_TAG, Integer.toString(settings.parallelism()));
+    writeElement(dom, head, ENGINE_TAG, settings.engine().toString());
+    writeElement(dom, head, JUMP_TAG, Integer.toString(settings.jump()));
+    writeElement(dom, head, CACHE_CAPACITY_TAG, Integer.toString(settings.cacheCapacity()));
+    writeElement(dom, head, DIFFUSION_TAG, Double.toString(settings.diffusion()));
+    writeElement(dom, head, SEED_TAG, Long.toString(settings.seed()));
+    writeElement(dom, head, BOUNDARY_TAG, settings.boundary().toString());
+    writeElement(dom, head, BOUNDARY_STATE_TAG, Integer.toString(settings.boundaryState()));
+    if (settings.rule() != null) {
+      writeElement(dom, head, RULE_TAG, settings.rule());
+    }
     writeElement(dom, head, AUTHOR_TAG, about.author());
     writeElement(dom, head, DESC_TAG, about.desc());
     rootEle.appendChild(head);
@@ -344,6 +593,28 @@ public class XMLController {
     }
   }
 
+  private void writeRuleTable(Document dom, Element rootEle, RuleTable ruleTable) {
+    Element head = dom.createElement(RULE_TABLE_TAG);
+    writeElement(dom, head, NEIGHBORHOOD_TAG,
+        ruleTable.kind() == NeighborhoodKind.VON_NEUMANN ? VON_NEUMANN_TAG : MOORE_TAG);
+    for (RuleTable.Transition t : ruleTable.transitions()) {
+      Element transition = dom.createElement(TRANSITION_TAG);
+      if (t.from() != RuleTable.ANY) {
+        writeElement(dom, transition, FROM_TAG, Integer.toString(t.from()));
+      }
+      writeElement(dom, transition, TO_TAG, Integer.toString(t.to()));
+      if (t.neighbor() != RuleTable.ANY) {
+        writeElement(dom, transition, NEIGHBOR_TAG, Integer.toString(t.neighbor()));
+        writeElement(dom, transition, MIN_TAG, Integer.toString(t.min()));
+        if (t.max() != DEFAULT_MAX) {
+          writeElement(dom, transition, MAX_TAG, Integer.toString(t.max()));
+        }
+      }
+      head.appendChild(transition);
+    }
+    rootEle.appendChild(head);
+  }
+
   private void writeElement(Document dom, Element root, String tagName, String content) {
     Element e = dom.createElement(tagName);
     e.appendChild(dom.createTextNode(content));
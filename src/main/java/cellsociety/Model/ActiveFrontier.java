@@ -0,0 +1,191 @@
+package cellsociety.Model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Purpose: tracks which cells of a Grid changed in the last step, so the next step only evaluates
+ * those cells and the cells that list them as neighbors. Everything else is quiescent and keeps its
+ * state without being visited.
+ * <p>
+ * Assumptions: the rule gives a cell its current state back whenever neither the cell nor any of
+ * its neighbors changed in the previous step, unless the cell asked to stay active (an agent that
+ * wants to move but could not). Every cell is active in the first step. Cells next to the ghost
+ * cell of a fixed boundary stay active every step: the ghost never changes, so no change would
+ * wake them, yet a random rule may still act on its state. Changes may be marked by several threads
+ * at once; the active set is only rebuilt by one thread.
+ * <p>
+ * Dependencies: NeighborTable
+ *
+ * @author Jay Yoon
+ */
+public class ActiveFrontier {
+
+  private static final int WORD_SHIFT = 6;
+  private static final int WORD_MASK = Long.SIZE - 1;
+  private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private final NeighborTable readers;
+  private final int size;
+  private final long[] active;
+  private final long[] changed;
+  private final long[] retained;
+  // cells reading the ghost cell of a fixed boundary
+  private final long[] pinned;
+  private int pendingCount;
+  private int activeCount;
+  private int changedCount;
+  private long skippedTotal;
+
+  /**
+   * creates a frontier in which every cell is active
+   * parameter: NeighborTable shared by every cell of the grid
+   */
+  public ActiveFrontier(NeighborTable table) {
+    this.readers = table.readers();
+    this.size = table.getWidth() * table.getHeight();
+    this.active = new long[(size + WORD_MASK) >> WORD_SHIFT];
+    this.changed = new long[active.length];
+    this.retained = new long[active.length];
+    this.pinned = new long[active.length];
+    for (int i = 0; i < size; i++) {
+      active[i >> WORD_SHIFT] |= 1L << i;
+      for (int k = table.start(i); k < table.end(i); k++) {
+        if (table.neighbor(k) >= size) {
+          pinned[i >> WORD_SHIFT] |= 1L << i;
+        }
+      }
+    }
+    this.pendingCount = size;
+  }
+
+  /**
+   * starts a step: forgets changes of previous step and counts cells about to be evaluated
+   */
+  public void beginStep() {
+    Arrays.fill(changed, 0);
+    changedCount = 0;
+    activeCount = pendingCount;
+    skippedTotal += size - activeCount;
+  }
+
+  /**
+   * records that a cell's next state differs from its current state, safe to call from several
+   * threads
+   * parameter: position of cell
+   */
+  public void markChanged(int index) {
+    WORDS.getAndBitwiseOr(changed, index >> WORD_SHIFT, 1L << index);
+  }
+
+  /**
+   * records every position set in a bitset as changed, for rules that find all of a step's changes
+   * in one pass; not safe while other threads mark changes
+   * parameter: bitset with bit i % 64 of word i / 64 set if position i changed
+   */
+  public void markChanged(long[] bits) {
+    for (int word = 0; word < bits.length; word++) {
+      changed[word] |= bits[word];
+    }
+  }
+
+  /**
+   * keeps a cell in the active set of the next step although nothing around it changed, safe to
+   * call from several threads
+   * parameter: position of cell
+   */
+  public void keepActive(int index) {
+    WORDS.getAndBitwiseOr(retained, index >> WORD_SHIFT, 1L << index);
+  }
+
+  /**
+   * ends a step: the cells that changed, every cell reading them, the cells kept active and the
+   * cells next to a fixed boundary become the active set of the next step
+   */
+  public void endStep() {
+    for (int word = 0; word < active.length; word++) {
+      active[word] = retained[word] | pinned[word];
+    }
+    Arrays.fill(retained, 0);
+    changedCount = 0;
+    for (int word = 0; word < changed.length; word++) {
+      long bits = changed[word];
+      changedCount += Long.bitCount(bits);
+      while (bits != 0) {
+        int index = (word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits);
+        active[index >> WORD_SHIFT] |= 1L << index;
+        for (int k = readers.start(index); k < readers.end(index); k++) {
+          int reader = readers.neighbor(k);
+          active[reader >> WORD_SHIFT] |= 1L << reader;
+        }
+        bits &= bits - 1;
+      }
+    }
+    pendingCount = 0;
+    for (long bits : active) {
+      pendingCount += Long.bitCount(bits);
+    }
+  }
+
+  /**
+   * visits active cells with positions from (inclusive) to to (exclusive) in ascending order
+   * parameter: range of positions, action run on each active position
+   */
+  public void forEachActive(int from, int to, IntConsumer action) {
+    forEach(active, from, to, action);
+  }
+
+  /**
+   * visits cells that changed in the last step with positions from (inclusive) to to (exclusive)
+   * parameter: range of positions, action run on each changed position
+   */
+  public void forEachChanged(int from, int to, IntConsumer action) {
+    forEach(changed, from, to, action);
+  }
+
+  private static void forEach(long[] set, int from, int to, IntConsumer action) {
+    if (from >= to) {
+      return;
+    }
+    int last = (to - 1) >> WORD_SHIFT;
+    for (int word = from >> WORD_SHIFT; word <= last; word++) {
+      long bits = set[word];
+      if (word == from >> WORD_SHIFT) {
+        bits &= -1L << (from & WORD_MASK);
+      }
+      if (word == last) {
+        bits &= -1L >>> (WORD_MASK - ((to - 1) & WORD_MASK));
+      }
+      while (bits != 0) {
+        action.accept((word << WORD_SHIFT) + Long.numberOfTrailingZeros(bits));
+        bits &= bits - 1;
+      }
+    }
+  }
+
+  /**
+   * gets number of cells evaluated in the last step, the rest of the grid was skipped
+   * return value: int value representing size of last active set
+   */
+  public int getActiveCount() {
+    return activeCount;
+  }
+
+  /**
+   * gets number of cells that changed in the last finished step
+   * return value: int value representing number of changed cells
+   */
+  public int getChangedCount() {
+    return changedCount;
+  }
+
+  /**
+   * gets number of cell evaluations skipped since the grid was loaded
+   * return value: long value representing skipped evaluations over all steps
+   */
+  public long getSkippedTotal() {
+    return skippedTotal;
+  }
+}
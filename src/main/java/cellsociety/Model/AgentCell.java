@@ -0,0 +1,96 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: abstract class for cells whose agents move into other cells (Segregation, Predation,
+ * SugarScape, Falling Sand). A step runs in two phases so every cell can be processed in
+ * parallel: apply only reads current states and claims the cell the agent wants to move into,
+ * then resolve lets the winner of each claim write both its own cell and the claimed one.
+ * <p>
+ * Assumptions: agents only claim cells that no agent currently occupies, or cells of agents that
+ * give way when claimed (prey being eaten, water displaced by sand). An agent whose own cell is
+ * claimed must not move in resolve.
+ * <p>
+ * Dependencies: extends Cell, uses MoveArbiter of the Grid
+ *
+ * @author Jay Yoon
+ */
+public abstract class AgentCell extends Cell {
+
+  private static final int NO_MOVE = -1;
+  private int moveTarget = NO_MOVE;
+
+  public AgentCell(int type, String color, int pos, int width) {
+    super(type, color, pos, width);
+  }
+
+  /**
+   * first phase of a step: decides where the agent wants to go and claims it
+   * parameter: current Grid, width and height of simulation
+   */
+  @Override
+  public final void apply(Grid grid, int width, int height) {
+    moveTarget = NO_MOVE;
+    propose(grid, width, height);
+  }
+
+  /**
+   * decides the move of the cell's agent. Must only read current states and write fields of this
+   * cell; the move itself is written in resolve.
+   * parameter: current Grid, width and height of simulation
+   */
+  protected abstract void propose(Grid grid, int width, int height);
+
+  /**
+   * agent cells take part in move arbitration
+   * return value: true
+   */
+  @Override
+  public boolean usesClaims() {
+    return true;
+  }
+
+  /**
+   * claims a cell for this cell's agent, replacing any earlier claim this step
+   * parameter: current Grid, position of cell to move into
+   */
+  protected void claim(Grid grid, int target) {
+    moveTarget = target;
+    grid.getArbiter().claim(target, getPosition());
+  }
+
+  /**
+   * gets position this cell's agent claimed this step
+   * return value: position of claimed cell
+   */
+  protected int getMoveTarget() {
+    return moveTarget;
+  }
+
+  /**
+   * tells whether this cell's agent won the cell it claimed
+   * parameter: arbiter of current step
+   * return value: true if agent may move into its target
+   */
+  protected boolean wonMove(MoveArbiter arbiter) {
+    return moveTarget != NO_MOVE && arbiter.won(moveTarget, getPosition());
+  }
+
+  /**
+   * tells whether another agent claimed this cell, in which case this cell's agent stays and the
+   * claiming agent decides what happens to it
+   * parameter: arbiter of current step
+   * return value: true if cell was claimed
+   */
+  protected boolean isClaimed(MoveArbiter arbiter) {
+    return arbiter.isClaimed(getPosition());
+  }
+
+  /**
+   * picks one of several options for this cell's agent, reproducibly for the current step
+   * parameter: current Grid, number of options
+   * return value: index of chosen option
+   */
+  protected int choose(Grid grid, int bound) {
+    return grid.getArbiter().choose(getPosition(), bound);
+  }
+}
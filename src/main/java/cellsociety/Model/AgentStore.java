@@ -0,0 +1,275 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: agents of a simulation kept apart from the cells they stand on. Every agent has an id
+ * and a number of int fields (energy, sugar, breeding cycle, ...) stored column by column in
+ * primitive arrays, plus the position it stands on. An index from position to agents lets rules
+ * find the agents of a cell, so moving an agent only relinks it instead of copying its fields
+ * between Cell objects. Ids of dead agents are recycled by births, and every SORT_INTERVAL steps
+ * the agents are renumbered in Morton (Z-curve) order of their positions, so agents close on the
+ * grid are close in memory.
+ * <p>
+ * Assumptions: an id stays the same until the next re-sort; rules find agents again through their
+ * position after it. Several agents may stand on one cell, chained in the order they arrived.
+ * During a parallel step only the agent standing on a cell, or the winner of that cell's claim,
+ * moves agents into or out of it; births and deaths may come from any thread. Re-sorting runs
+ * between steps.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class AgentStore {
+
+  public static final int NONE = -1;
+  private static final int SORT_INTERVAL = 32;
+  private static final int MORTON_BITS = 16;
+  private final int[][] fields;
+  private final int[] positions;
+  private final int[] next;
+  private final int[] first;
+  private final int[] free;
+  private final int[] mortonOrder;
+  // buffers the sort renumbers agents into, allocated on the first sort and reused after it
+  private int[][] sortedFields;
+  private int[] sortedPositions;
+  private int freeCount;
+  private int highWater;
+  private int count;
+  private int steps;
+
+  /**
+   * creates a store without agents
+   * parameter: width and height of grid, number of int fields of every agent, most agents alive
+   * at once
+   */
+  public AgentStore(int width, int height, int fieldCount, int capacity) {
+    this.fields = new int[fieldCount][capacity];
+    this.positions = new int[capacity];
+    this.next = new int[capacity];
+    this.free = new int[capacity];
+    this.first = new int[width * height];
+    Arrays.fill(first, NONE);
+    this.mortonOrder = mortonOrder(width, height);
+  }
+
+  /**
+   * adds an agent with all fields 0 on top of a cell's agents
+   * parameter: position of cell
+   * return value: id of new agent
+   */
+  public int spawn(int position) {
+    int agent = allocate();
+    for (int[] column : fields) {
+      column[agent] = 0;
+    }
+    positions[agent] = position;
+    link(agent, position);
+    return agent;
+  }
+
+  /**
+   * removes an agent, freeing its id for the next birth
+   * parameter: id of agent
+   */
+  public void kill(int agent) {
+    unlink(agent, positions[agent]);
+    positions[agent] = NONE;
+    release(agent);
+  }
+
+  /**
+   * moves an agent onto another cell, keeping its id and fields
+   * parameter: id of agent, position of cell to move to
+   */
+  public void move(int agent, int position) {
+    unlink(agent, positions[agent]);
+    positions[agent] = position;
+    link(agent, position);
+  }
+
+  /**
+   * gets first agent that arrived on a cell
+   * parameter: position of cell
+   * return value: id of agent, NONE if the cell has no agent
+   */
+  public int agentAt(int position) {
+    return first[position];
+  }
+
+  /**
+   * gets agent that arrived on the same cell after another
+   * parameter: id of agent
+   * return value: id of next agent, NONE if it was the last one
+   */
+  public int next(int agent) {
+    return next[agent];
+  }
+
+  /**
+   * gets position of an agent
+   * parameter: id of agent
+   * return value: position of cell the agent stands on
+   */
+  public int getPosition(int agent) {
+    return positions[agent];
+  }
+
+  /**
+   * gets a field of an agent
+   * parameter: id of agent, number of field
+   * return value: int value of field
+   */
+  public int get(int agent, int field) {
+    return fields[field][agent];
+  }
+
+  /**
+   * sets a field of an agent
+   * parameter: id of agent, number of field, new value
+   */
+  public void set(int agent, int field, int value) {
+    fields[field][agent] = value;
+  }
+
+  /**
+   * adds to a field of an agent
+   * parameter: id of agent, number of field, amount to add
+   */
+  public void add(int agent, int field, int amount) {
+    fields[field][agent] += amount;
+  }
+
+  /**
+   * gets number of ids handed out, for visiting every agent by id; ids of dead agents below it have
+   * position NONE
+   * return value: int value one past the highest id in use
+   */
+  public synchronized int getIdLimit() {
+    return highWater;
+  }
+
+  /**
+   * gets most agents alive at once
+   * return value: int value representing capacity of store
+   */
+  public int capacity() {
+    return positions.length;
+  }
+
+  /**
+   * gets number of living agents
+   * return value: int value representing population
+   */
+  public synchronized int size() {
+    return count;
+  }
+
+  /**
+   * ends a step, renumbering agents in Morton order every SORT_INTERVAL steps. Must not run while
+   * cells are applying rules.
+   */
+  public void endStep() {
+    if (++steps % SORT_INTERVAL == 0) {
+      sort();
+    }
+  }
+
+  /**
+   * renumbers agents in Morton order of their positions, keeping the order of agents on one cell.
+   * Must not run while cells are applying rules.
+   */
+  public synchronized void sort() {
+    if (sortedPositions == null) {
+      sortedFields = new int[fields.length][positions.length];
+      sortedPositions = new int[positions.length];
+    }
+    int agent = 0;
+    for (int position : mortonOrder) {
+      int last = NONE;
+      for (int old = first[position]; old != NONE; old = next[old]) {
+        for (int f = 0; f < fields.length; f++) {
+          sortedFields[f][agent] = fields[f][old];
+        }
+        sortedPositions[agent] = position;
+        if (last == NONE) {
+          first[position] = agent;
+        }
+        last = agent++;
+      }
+    }
+    for (int f = 0; f < fields.length; f++) {
+      System.arraycopy(sortedFields[f], 0, fields[f], 0, count);
+    }
+    System.arraycopy(sortedPositions, 0, positions, 0, count);
+    for (int a = 0; a < count; a++) {
+      next[a] = a + 1 < count && positions[a + 1] == positions[a] ? a + 1 : NONE;
+    }
+    highWater = count;
+    freeCount = 0;
+  }
+
+  private synchronized int allocate() {
+    if (count == positions.length) {
+      throw new IllegalStateException("agent store is full: " + count + " agents");
+    }
+    count++;
+    return freeCount > 0 ? free[--freeCount] : highWater++;
+  }
+
+  private synchronized void release(int agent) {
+    count--;
+    free[freeCount++] = agent;
+  }
+
+  private void link(int agent, int position) {
+    next[agent] = NONE;
+    int last = first[position];
+    if (last == NONE) {
+      first[position] = agent;
+      return;
+    }
+    while (next[last] != NONE) {
+      last = next[last];
+    }
+    next[last] = agent;
+  }
+
+  private void unlink(int agent, int position) {
+    if (first[position] == agent) {
+      first[position] = next[agent];
+      return;
+    }
+    int previous = first[position];
+    while (next[previous] != agent) {
+      previous = next[previous];
+    }
+    next[previous] = next[agent];
+  }
+
+  // positions sorted by interleaving the bits of their column and row
+  private static int[] mortonOrder(int width, int height) {
+    long[] keys = new long[width * height];
+    for (int i = 0; i < keys.length; i++) {
+      long code = spread(i % width) | (spread(i / width) << 1);
+      keys[i] = (code << Integer.SIZE) | i;
+    }
+    Arrays.sort(keys);
+    int[] order = new int[keys.length];
+    for (int i = 0; i < keys.length; i++) {
+      order[i] = (int) keys[i];
+    }
+    return order;
+  }
+
+  // spreads the low MORTON_BITS bits of a coordinate apart, one zero bit between each
+  private static long spread(int coordinate) {
+    long bits = coordinate & ((1L << MORTON_BITS) - 1);
+    bits = (bits | (bits << 8)) & 0x00FF00FFL;
+    bits = (bits | (bits << 4)) & 0x0F0F0F0FL;
+    bits = (bits | (bits << 2)) & 0x33333333L;
+    return (bits | (bits << 1)) & 0x55555555L;
+  }
+}
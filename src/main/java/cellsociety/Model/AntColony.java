@@ -0,0 +1,301 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: foraging ants stepped over primitive arrays. The terrain, the number of ants on every
+ * cell and the home and food pheromones of a PheromoneField are arrays padded with a ring of
+ * barrier cells, so a neighbor is always position + offset of a direction and never out of bounds;
+ * ants read and mark the field's arrays directly, and the field evaporates and diffuses them in
+ * its own pass. Every ant lives in
+ * an AgentStore with its orientation (a direction index from 0 = north clockwise to 7 = northwest),
+ * whether it carries food and the moves it has left; the cells ahead of an ant come from a table
+ * of the three directions around its orientation. Candidate moves and their weights go into
+ * scratch buffers reused by every ant, so a step allocates nothing.
+ * <p>
+ * Assumptions: terrain states are 0 = path, 1 = food, 2 = nest and 3 = barrier. An ant on a path
+ * cell moves to one of the three cells ahead of it, or to any neighbor if none of those is free;
+ * on food and nest cells it may move to any neighbor. Barriers and cells holding
+ * MAX_ANTS_PER_CELL ants are not free. A move is drawn with weight 1 + pheromone level of the
+ * target: the home pheromone for ants carrying food, the food pheromone otherwise. Before moving
+ * an ant fills the pheromone it reads on its cell up to the strongest level ahead of it minus 2,
+ * or to the maximum on food and nest cells; ants pick up food on food cells and drop it on nest
+ * cells, and die after ANT_LIVES moves. Each nest cell spawns an ant facing a random way with
+ * probability 0.3 per step, unless it is full or the colony is at its capacity. Ants move in order
+ * of their ids, which the AgentStore renumbers by position every few steps, each ant once per step,
+ * then nests spawn, then pheromones diffuse and evaporate by 2 per step, never going below 0.
+ * <p>
+ * Dependencies: AgentStore, PheromoneField, CounterRandom, ParallelStepper
+ *
+ * @author Jay Yoon
+ */
+public class AntColony {
+
+  public static final int PATH_STATE = 0;
+  public static final int FOOD_STATE = 1;
+  public static final int NEST_STATE = 2;
+  public static final int BARRIER_STATE = 3;
+  public static final int MAX_ANTS_PER_CELL = 4;
+  public static final int ANT_LIVES = 100;
+  private static final double SPAWN_PROBABILITY = 0.3;
+  private static final float PHEROMONE_MAX = 10;
+  private static final float EVAPORATION_RATE = 2;
+  private static final float TRAIL_DROP = 2;
+  private static final float BASE_WEIGHT = 1;
+  private static final int MIN_CAPACITY = 1024;
+  private static final int ORIENTATION = 0;
+  private static final int CARRYING = 1;
+  private static final int LIFE = 2;
+  private static final int FIELDS = 3;
+  private static final int SPAWN_DRAW = 0;
+  private static final int ORIENTATION_DRAW = 1;
+  private static final int MOVE_DRAW = 2;
+  private static final int DIRECTIONS = 8;
+  private static final int AHEAD = 3;
+  // directions clockwise from north: N, NE, E, SE, S, SW, W, NW
+  private static final int[] COLUMN_STEPS = {0, 1, 1, 1, 0, -1, -1, -1};
+  private static final int[] ROW_STEPS = {-1, -1, 0, 1, 1, 1, 0, -1};
+  // AHEAD_DIRECTIONS[3 * o + k]: the direction right of orientation o, o itself, then left of it
+  private static final byte[] AHEAD_DIRECTIONS = aheadDirections();
+  private static final int WORD_SHIFT = 6;
+  private final int width;
+  private final int paddedWidth;
+  private final byte[] terrain;
+  private final byte[] antCounts;
+  private final PheromoneField pheromones;
+  private final int[] offsets = new int[DIRECTIONS];
+  private final int[] nests;
+  private final AgentStore ants;
+  private final long[] changed;
+  private final int[] candidates = new int[DIRECTIONS];
+  private final float[] weights = new float[DIRECTIONS];
+
+  /**
+   * creates a colony without ants
+   * parameter: width and height of grid, terrain state of every cell in row order, fraction of a
+   * cell's pheromone spread to its neighbors per step (0 for none)
+   */
+  public AntColony(int width, int height, int[] layout, float diffusion) {
+    this.width = width;
+    this.paddedWidth = width + 2;
+    int paddedSize = paddedWidth * (height + 2);
+    this.terrain = new byte[paddedSize];
+    Arrays.fill(terrain, (byte) BARRIER_STATE);
+    this.antCounts = new byte[paddedSize];
+    this.pheromones = new PheromoneField(width, height, EVAPORATION_RATE, diffusion);
+    int nestCount = 0;
+    for (int i = 0; i < layout.length; i++) {
+      terrain[padded(i)] = (byte) layout[i];
+      if (layout[i] == NEST_STATE) {
+        nestCount++;
+      }
+    }
+    this.nests = new int[nestCount];
+    for (int i = 0, n = 0; i < layout.length; i++) {
+      if (layout[i] == NEST_STATE) {
+        nests[n++] = padded(i);
+      }
+    }
+    for (int d = 0; d < DIRECTIONS; d++) {
+      offsets[d] = ROW_STEPS[d] * paddedWidth + COLUMN_STEPS[d];
+    }
+    int capacity = Math.min(MAX_ANTS_PER_CELL * width * height,
+        Math.max(MIN_CAPACITY, 2 * ANT_LIVES * nestCount));
+    this.ants = new AgentStore(paddedWidth, height + 2, FIELDS, capacity);
+    this.changed = new long[(width * height + Long.SIZE - 1) >> WORD_SHIFT];
+  }
+
+  /**
+   * moves every ant once, spawns ants on the nests and lets pheromones evaporate
+   * parameter: CounterRandom drawing moves and spawns, generation being stepped, ParallelStepper
+   * running the pheromone pass in bands (null to run it sequentially)
+   */
+  public void step(CounterRandom random, long generation, ParallelStepper stepper) {
+    Arrays.fill(changed, 0);
+    int limit = ants.getIdLimit();
+    for (int ant = 0; ant < limit; ant++) {
+      if (ants.getPosition(ant) != AgentStore.NONE) {
+        move(ant, random, generation);
+      }
+    }
+    for (int nest : nests) {
+      spawn(nest, random, generation);
+    }
+    pheromones.step(stepper);
+    ants.endStep();
+  }
+
+  /**
+   * gets terrain of a cell
+   * parameter: position of cell in the grid
+   * return value: int value representing path, food, nest or barrier state
+   */
+  public int getTerrain(int index) {
+    return terrain[padded(index)];
+  }
+
+  /**
+   * gets number of ants on a cell
+   * parameter: position of cell in the grid
+   * return value: int value between 0 and MAX_ANTS_PER_CELL
+   */
+  public int getAntCount(int index) {
+    return antCounts[padded(index)];
+  }
+
+  /**
+   * gets home pheromone on a cell, followed by ants carrying food
+   * parameter: position of cell in the grid
+   * return value: float value of pheromone level, at least 0
+   */
+  public float getHomePheromone(int index) {
+    return pheromones.getHome()[padded(index)];
+  }
+
+  /**
+   * gets food pheromone on a cell, followed by ants looking for food
+   * parameter: position of cell in the grid
+   * return value: float value of pheromone level, at least 0
+   */
+  public float getFoodPheromone(int index) {
+    return pheromones.getFood()[padded(index)];
+  }
+
+  /**
+   * gets the cells whose number of ants went from or to 0 in the last step
+   * return value: bitset with bit i % 64 of word i / 64 set if grid position i changed
+   */
+  public long[] getChanged() {
+    return changed;
+  }
+
+  /**
+   * gets number of living ants
+   * return value: int value representing population
+   */
+  public int size() {
+    return ants.size();
+  }
+
+  private void move(int ant, CounterRandom random, long generation) {
+    int position = ants.getPosition(ant);
+    int count = 0;
+    int type = terrain[position];
+    if (type != FOOD_STATE && type != NEST_STATE) {
+      int ahead = AHEAD * ants.get(ant, ORIENTATION);
+      for (int k = ahead; k < ahead + AHEAD; k++) {
+        if (isFree(position + offsets[AHEAD_DIRECTIONS[k]])) {
+          candidates[count++] = AHEAD_DIRECTIONS[k];
+        }
+      }
+    }
+    if (count == 0) {
+      for (int d = 0; d < DIRECTIONS; d++) {
+        if (isFree(position + offsets[d])) {
+          candidates[count++] = d;
+        }
+      }
+    }
+    if (count == 0) {
+      return;
+    }
+    boolean carrying = ants.get(ant, CARRYING) == 1;
+    float[] trail = carrying ? pheromones.getHome() : pheromones.getFood();
+    float total = 0;
+    float strongest = 0;
+    for (int k = 0; k < count; k++) {
+      float level = trail[position + offsets[candidates[k]]];
+      weights[k] = BASE_WEIGHT + level;
+      total += weights[k];
+      strongest = Math.max(strongest, level);
+    }
+    int direction = candidates[choose(count, total,
+        random.nextDouble(generation, ant, MOVE_DRAW))];
+    mark(position, trail, strongest);
+    int target = position + offsets[direction];
+    ants.set(ant, ORIENTATION, direction);
+    if (terrain[target] == FOOD_STATE) {
+      ants.set(ant, CARRYING, 1);
+    } else if (terrain[target] == NEST_STATE) {
+      ants.set(ant, CARRYING, 0);
+    }
+    int life = ants.get(ant, LIFE) - 1;
+    leave(position);
+    if (life == 0) {
+      ants.kill(ant);
+      return;
+    }
+    ants.set(ant, LIFE, life);
+    ants.move(ant, target);
+    arrive(target);
+  }
+
+  // picks candidate k with probability weights[k] / total, the last one if weights do not add up
+  private int choose(int count, float total, double draw) {
+    double threshold = draw * total;
+    float sum = 0;
+    for (int k = 0; k < count; k++) {
+      sum += weights[k];
+      if (threshold < sum) {
+        return k;
+      }
+    }
+    return count - 1;
+  }
+
+  private void mark(int position, float[] trail, float strongest) {
+    if (terrain[position] == FOOD_STATE) {
+      pheromones.getFood()[position] = PHEROMONE_MAX;
+    } else if (terrain[position] == NEST_STATE) {
+      pheromones.getHome()[position] = PHEROMONE_MAX;
+    } else {
+      trail[position] = Math.max(trail[position], strongest - TRAIL_DROP);
+    }
+  }
+
+  private void spawn(int nest, CounterRandom random, long generation) {
+    if (antCounts[nest] == MAX_ANTS_PER_CELL || ants.size() == ants.capacity()
+        || random.nextDouble(generation, nest, SPAWN_DRAW) > SPAWN_PROBABILITY) {
+      return;
+    }
+    int ant = ants.spawn(nest);
+    ants.set(ant, ORIENTATION, random.nextInt(generation, nest, ORIENTATION_DRAW, DIRECTIONS));
+    ants.set(ant, LIFE, ANT_LIVES);
+    arrive(nest);
+  }
+
+  private boolean isFree(int position) {
+    return terrain[position] != BARRIER_STATE && antCounts[position] < MAX_ANTS_PER_CELL;
+  }
+
+  private void arrive(int position) {
+    if (antCounts[position]++ == 0) {
+      markChanged(position);
+    }
+  }
+
+  private void leave(int position) {
+    if (--antCounts[position] == 0) {
+      markChanged(position);
+    }
+  }
+
+  private void markChanged(int position) {
+    int index = (position / paddedWidth - 1) * width + position % paddedWidth - 1;
+    changed[index >> WORD_SHIFT] |= 1L << index;
+  }
+
+  private int padded(int index) {
+    return (index / width + 1) * paddedWidth + index % width + 1;
+  }
+
+  private static byte[] aheadDirections() {
+    byte[] table = new byte[AHEAD * DIRECTIONS];
+    for (int o = 0; o < DIRECTIONS; o++) {
+      table[AHEAD * o] = (byte) ((o + 1) % DIRECTIONS);
+      table[AHEAD * o + 1] = (byte) o;
+      table[AHEAD * o + 2] = (byte) ((o + DIRECTIONS - 1) % DIRECTIONS);
+    }
+    return table;
+  }
+}
@@ -0,0 +1,112 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.CellShape;
+
+/**
+ * Purpose: Foraging Ants rule backed by an AntColony instead of a Cell object per site. Each step
+ * moves the colony once; the cells whose number of ants went from or to 0 are written into the
+ * Grid's next states and marked in the Grid's ActiveFrontier, so the Grid commits and redraws
+ * only those.
+ * <p>
+ * Assumptions: the colony is created from the Grid's states on the first step and owns the
+ * simulation afterwards. A path cell holding ants shows as ANT_STATE when the configuration gives
+ * that state a color, otherwise cells always show their terrain. The pheromone pass runs on the
+ * Grid's ParallelStepper when it has one. A kernel steps the grid it was loaded into, so each grid
+ * needs its own kernel.
+ * <p>
+ * Dependencies: GridKernel, AntColony, ActiveFrontier, ParallelStepper
+ *
+ * @author Jay Yoon
+ */
+public class AntKernel implements GridKernel {
+
+  public static final int ANT_STATE = 4;
+  private final float diffusion;
+  private AntColony colony;
+  private boolean showAnts;
+
+  /**
+   * creates a kernel whose pheromones only evaporate
+   */
+  public AntKernel() {
+    this(0);
+  }
+
+  /**
+   * creates a kernel whose pheromones also diffuse
+   * parameter: fraction of a cell's pheromone spread to its neighbors per step
+   */
+  public AntKernel(float diffusion) {
+    this.diffusion = diffusion;
+  }
+
+  /**
+   * creates the colony on the first step, then moves it once, writing the cells that changed
+   * parameter: Grid to be stepped
+   */
+  @Override
+  public void prepare(Grid grid) {
+    if (colony == null) {
+      int[] layout = new int[grid.getSize()];
+      for (int i = 0; i < layout.length; i++) {
+        layout[i] = grid.getType(i);
+      }
+      colony = new AntColony(grid.getWidth(), grid.getHeight(), layout, diffusion);
+      showAnts = grid.getColor(ANT_STATE) != null;
+    }
+    colony.step(grid.getRandom(), grid.getGeneration(), grid.getStepper());
+    long[] changed = colony.getChanged();
+    for (int word = 0; word < changed.length; word++) {
+      for (long bits = changed[word]; bits != 0; bits &= bits - 1) {
+        int i = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+        grid.setNextState(i, displayState(i));
+      }
+    }
+    grid.getFrontier().markChanged(changed);
+  }
+
+  /**
+   * copies the colony into next states of a band of rows. The Grid never calls it, since the
+   * kernel's stencil makes it evaluate active cells through apply(grid, index), but GridKernel
+   * requires it and a caller stepping bands directly still gets every cell's state
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    for (int i = fromRow * grid.getWidth(); i < toRow * grid.getWidth(); i++) {
+      grid.setNextState(i, displayState(i));
+    }
+  }
+
+  /**
+   * does nothing, since prepare already wrote every cell that changed
+   * parameter: Grid to be stepped, position of cell
+   */
+  @Override
+  public void apply(Grid grid, int index) {
+  }
+
+  /**
+   * gets the neighbors of a cell, so the Grid tracks changed cells
+   * parameter: Grid to be stepped
+   * return value: von Neumann NeighborTable of the grid
+   */
+  @Override
+  public NeighborTable getStencil(Grid grid) {
+    return NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.VON_NEUMANN, grid);
+  }
+
+  /**
+   * gets colony stepped by kernel, for its population and pheromones
+   * return value: AntColony, null before the first step
+   */
+  public AntColony getColony() {
+    return colony;
+  }
+
+  private int displayState(int index) {
+    int terrain = colony.getTerrain(index);
+    return showAnts && terrain == AntColony.PATH_STATE && colony.getAntCount(index) > 0
+        ? ANT_STATE : terrain;
+  }
+}
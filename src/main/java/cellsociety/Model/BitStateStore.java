@@ -0,0 +1,98 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: StateStore keeping one bit per cell for two-state simulations. Each grid row is stored
+ * as a run of longs (64 cells per word), so rules can update a whole word of cells at once.
+ * <p>
+ * Assumptions: states are 0 or 1, any non-zero state is stored as 1. Bit k of word j of a row holds
+ * column 64 * j + k; bits past the last column of a row are always 0.
+ * <p>
+ * Dependencies: extends StateStore
+ *
+ * @author Jay Yoon
+ */
+public class BitStateStore extends StateStore {
+
+  private static final int WORD_SHIFT = 6;
+  private static final int WORD_MASK = Long.SIZE - 1;
+  private final int width;
+  private final int wordsPerRow;
+  private long[] current;
+  private long[] next;
+
+  public BitStateStore(int width, int height) {
+    super(width * height);
+    this.width = width;
+    this.wordsPerRow = (width + WORD_MASK) >> WORD_SHIFT;
+    current = new long[wordsPerRow * height];
+    next = new long[wordsPerRow * height];
+  }
+
+  @Override
+  public int get(int index) {
+    return (int) (current[word(index)] >>> (index % width)) & 1;
+  }
+
+  @Override
+  public int getNext(int index) {
+    return (int) (next[word(index)] >>> (index % width)) & 1;
+  }
+
+  @Override
+  public void set(int index, int state) {
+    current[word(index)] = pack(current[word(index)], index, state);
+    next[word(index)] = pack(next[word(index)], index, state);
+  }
+
+  @Override
+  public void setNext(int index, int state) {
+    next[word(index)] = pack(next[word(index)], index, state);
+  }
+
+  @Override
+  public void swap() {
+    long[] temp = current;
+    current = next;
+    next = temp;
+  }
+
+  @Override
+  public void commit(int from, int to) {
+    for (int i = from; i < to; i++) {
+      current[word(i)] = pack(current[word(i)], i, getNext(i));
+    }
+  }
+
+  /**
+   * gets number of words holding one row
+   * return value: int value representing words per row
+   */
+  public int getWordsPerRow() {
+    return wordsPerRow;
+  }
+
+  /**
+   * gets current words, row after row, for rules that update a word of cells at once
+   * return value: long array of current states
+   */
+  public long[] getWords() {
+    return current;
+  }
+
+  /**
+   * gets next words, row after row
+   * return value: long array of next states
+   */
+  public long[] getNextWords() {
+    return next;
+  }
+
+  private int word(int index) {
+    return index / width * wordsPerRow + ((index % width) >> WORD_SHIFT);
+  }
+
+  private long pack(long word, int index, int state) {
+    long bit = 1L << (index % width);
+    return state == 0 ? word & ~bit : word | bit;
+  }
+}
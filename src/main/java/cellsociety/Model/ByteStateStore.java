@@ -0,0 +1,56 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: StateStore keeping one byte per cell, used by simulations with at most 256 states.
+ * <p>
+ * Assumptions: states are read back unsigned (0-255).
+ * <p>
+ * Dependencies: extends StateStore
+ *
+ * @author Jay Yoon
+ */
+public class ByteStateStore extends StateStore {
+
+  private static final int MASK = 0xFF;
+  private byte[] current;
+  private byte[] next;
+
+  public ByteStateStore(int size) {
+    super(size);
+    current = new byte[size];
+    next = new byte[size];
+  }
+
+  @Override
+  public int get(int index) {
+    return current[index] & MASK;
+  }
+
+  @Override
+  public int getNext(int index) {
+    return next[index] & MASK;
+  }
+
+  @Override
+  public void set(int index, int state) {
+    current[index] = (byte) state;
+    next[index] = (byte) state;
+  }
+
+  @Override
+  public void setNext(int index, int state) {
+    next[index] = (byte) state;
+  }
+
+  @Override
+  public void swap() {
+    byte[] temp = current;
+    current = next;
+    next = temp;
+  }
+
+  @Override
+  public void commit(int from, int to) {
+    System.arraycopy(next, from, current, from, to - from);
+  }
+}
@@ -1,15 +1,13 @@
 package cellsociety.Model;
 
-import cellsociety.Controller.CellShape;
 import cellsociety.View.SimulationUI;
-
-import java.util.ArrayList;
 /**
  * Purpose: abstract class to be able to support types of cells with differing rules and neighbors.
  * Every step, cell states are updated by simulation controller.
  *
  * Assumptions: every cell extending from abstract cell will set their own neighbors and define own set of rules.
  * Cell size is automatically scaled with window with default factor of 2.5. Cell gaps are set to 2 as default.
+ * Cells do not hold their own state: once placed on a Grid they are views over the Grid's StateStore.
  *
  * Dependencies: No major dependencies.
  *
@@ -17,46 +15,41 @@ import java.util.ArrayList;
  */
 public abstract class Cell implements ImmutableCell {
 
-  private double SIZE_FACTOR = 2.5;
+  private static final double SIZE_FACTOR = 2.5;
   private int gap = 2;
   private double size;
-  private int type;
-  private int nextType;
+  private StateStore states;
   private String color;
   private int position;
-  private double xCoordinate;
-  private double yCoordinate;
-  private int row;
-  private int col;
-  protected ArrayList<Cell> neighbors;
+  private int width;
+  protected NeighborTable neighborTable;
 
   public Cell(int type, String color, int pos, int width) {
     super();
 
-    this.type = type;
-    this.nextType = this.type;
+    this.states = StateStore.detached(type);
     this.position = pos;
     this.color = color;
-    this.row = pos / width;
-    this.col = pos % width;
-    this.size = SimulationUI.SCREEN_WIDTH / SIZE_FACTOR / width;
-
-    this.setXPosition();
-    this.setYPosition();
+    this.width = width;
+    this.size = defaultSize(width);
   }
 
   /**
-   * calculates and updates x-position of cell
+   * calculates size of a cell so that a grid of given width fits the window
+   * parameter: width of grid
+   * return value: double value representing cell size
    */
-  public void setXPosition() {
-    this.xCoordinate = (gap + this.size) * col;
+  public static double defaultSize(int width) {
+    return SimulationUI.SCREEN_WIDTH / SIZE_FACTOR / width;
   }
 
   /**
-   * calculates and updates y-position of cell
+   * moves cell state into the Grid's StateStore; afterwards the cell is only a view over it
+   * parameter: StateStore of the Grid cell is placed on
    */
-  public void setYPosition() {
-    this.yCoordinate = (gap + this.size) * row;
+  public void attach(StateStore store) {
+    store.set(this.position, this.states.get(this.position));
+    this.states = store;
   }
 
   /**
@@ -64,14 +57,14 @@ public abstract class Cell implements ImmutableCell {
    * parameter: int value representing new state
    */
   public void setNextState(int newState) {
-    this.nextType = newState;
+    states.setNext(this.position, newState);
   }
 
   /**
    * updates current state to next state
    */
   public void transitionState() {
-    this.type = this.nextType;
+    states.set(this.position, states.getNext(this.position));
   }
 
   /**
@@ -94,7 +87,7 @@ public abstract class Cell implements ImmutableCell {
    * return value: int value representing its row position on grid
    */
   public int getRow() {
-    return this.row;
+    return this.position / this.width;
   }
 
   /**
@@ -102,7 +95,7 @@ public abstract class Cell implements ImmutableCell {
    * return value: int value representing its column position on grid
    */
   public int getCol() {
-    return this.col;
+    return this.position % this.width;
   }
 
   /**
@@ -110,7 +103,7 @@ public abstract class Cell implements ImmutableCell {
    * return value: int value representing its current cell state
    */
   public int getType() {
-    return this.type;
+    return states.get(this.position);
   }
 
   /**
@@ -118,7 +111,7 @@ public abstract class Cell implements ImmutableCell {
    * return value: int value representing cell's next cell type
    */
   public int getNextType() {
-    return this.nextType;
+    return states.getNext(this.position);
   }
 
   /**
@@ -134,7 +127,7 @@ public abstract class Cell implements ImmutableCell {
    * return value: double value representing x-position
    */
   public double getXCoordinate() {
-    return this.xCoordinate;
+    return (gap + this.size) * getCol();
   }
 
   /**
@@ -142,15 +135,7 @@ public abstract class Cell implements ImmutableCell {
    * return value: double value representing y-position
    */
   public double getYCoordinate() {
-    return this.yCoordinate;
-  }
-
-  /**
-   * updates y-position of cell to be displayed on window
-   * parameter: double value representing y-position
-   */
-  public void setYCoordinate(double y) {
-    this.yCoordinate = y;
+    return (gap + this.size) * getRow();
   }
 
   /**
@@ -183,6 +168,64 @@ public abstract class Cell implements ImmutableCell {
    */
   public abstract void setNeighbors(Grid grid, int width, int height);
 
+  /**
+   * tells whether the cell's rule only reads current neighbor states and only writes its own next
+   * state. Grids made of such cells can apply rules to many cells at once.
+   * return value: true if cell's rule is synchronous, false by default
+   */
+  public boolean isSynchronous() {
+    return false;
+  }
+
+  /**
+   * tells whether the cell keeps its state whenever neither it nor any cell of its NeighborTable
+   * changed in the previous step. Grids made of such cells only evaluate cells next to last step's
+   * changes.
+   * return value: false by default
+   */
+  public boolean skipsWhenUnchanged() {
+    return false;
+  }
+
+  /**
+   * gets table of neighbors the cell's rule reads
+   * return value: NeighborTable of cell, null if cell keeps its own neighbor list
+   */
+  public NeighborTable getNeighborTable() {
+    return this.neighborTable;
+  }
+
+  /**
+   * tells whether the cell's agents move into other cells through MoveArbiter claims. Grids made of
+   * such cells apply rules in two phases: apply claims, resolve moves.
+   * return value: false by default
+   */
+  public boolean usesClaims() {
+    return false;
+  }
+
+  /**
+   * second phase of a step for cells that use claims: writes the moves won in apply
+   * parameter: current Grid, arbiter holding this step's claims
+   */
+  public void resolve(Grid grid, MoveArbiter arbiter) {
+  }
+
+  /**
+   * counts neighbors in the cell's NeighborTable that are currently in a given state
+   * parameter: current Grid, state to count
+   * return value: int value representing number of neighbors in that state
+   */
+  protected int countNeighbors(Grid grid, int state) {
+    int count = 0;
+    for (int k = neighborTable.start(position); k < neighborTable.end(position); k++) {
+      if (grid.getType(neighborTable.neighbor(k)) == state) {
+        count++;
+      }
+    }
+    return count;
+  }
+
   /**
    * gets size of cell
    * return value: double value representing size of cell
@@ -1,25 +1,33 @@
 package cellsociety.Model;
 
+import cellsociety.Controller.CellShape;
+
 /**
  * /** Purpose: This class represents a cell in a simulation using the Conway's Game of Life rules.
  * <p>
  * Assumptions: This class assumes that the neighbors of a cell have already been set using the
  * setNeighbors() method.
  * <p>
- * Dependencies: This class depends on the Cell class and the Neighborhood class.
+ * Dependencies: This class depends on the Cell class and the NeighborTable class.
  *
  * @author Jay Yoon,Ted Peterson
  */
 public class CellConway extends Cell {
-  private static final int DEAD_STATE = 0;
   private static final int ALIVE_STATE = 1;
+  private final LifeRule rule;
 
   public CellConway(int type, String color, int pos, int width) {
+    this(type, color, pos, width, LifeRule.CONWAY);
+  }
+
+  public CellConway(int type, String color, int pos, int width, LifeRule rule) {
     super(type, color, pos, width);
+    this.rule = rule;
   }
 
   /**
-   * Purpose: Updates the state of the cell according to the rules of the Conway simulation.
+   * Purpose: Updates the state of the cell according to the cell's Life-like rule (B3/S23 unless
+   * another rule was given).
    * <p>
    * Assumptions: The cell's neighbors have been set.
    * <p>
@@ -33,28 +41,13 @@ public class CellConway extends Cell {
    */
   @Override
   public void apply(Grid grid, int w, int h) {
-    int aliveCellCount = 0;
-    for (Cell c : neighbors) {
-      if (c.getType() == 1) {
-        aliveCellCount++;
-      }
-    }
-    if (aliveCellCount < 2) {
-      this.setNextState(DEAD_STATE);
-    }
-    if (aliveCellCount == 2) {
-      this.setNextState(this.getType());
-    }
-    if (aliveCellCount == 3) {
-      this.setNextState(ALIVE_STATE);
-    }
-    if (aliveCellCount > 3) {
-      this.setNextState(DEAD_STATE);
-    }
+    int aliveCellCount = countNeighbors(grid, ALIVE_STATE);
+    this.setNextState(rule.next(this.getType(), aliveCellCount));
   }
 
   /**
-   * Purpose: Sets the neighbors of the cell based on standardMore method.
+   * Purpose: Sets the neighbors of the cell to the shared NeighborTable of the rule's
+   * neighborhood, standard Moore for B3/S23.
    * <p>
    * Assumptions: None.
    * <p>
@@ -68,8 +61,33 @@ public class CellConway extends Cell {
    */
   @Override
   public void setNeighbors(Grid grid, int width, int height) {
-    Neighborhood n = new Neighborhood();
-    neighbors = n.standardMoore(grid, width, height, this);
+    CellShape shape = rule.hex() ? CellShape.HEX_CELL : CellShape.STANDARD_CELL;
+    neighborTable = NeighborTable.of(shape, rule.kind(), grid);
+  }
+
+  /**
+   * gets Life-like rule of the cell
+   * return value: LifeRule applied by the cell
+   */
+  protected LifeRule getRule() {
+    return rule;
+  }
+
+  /**
+   * Life-like rules only read current neighbor states and write the cell's own next state
+   * return value: true
+   */
+  @Override
+  public boolean isSynchronous() {
+    return true;
   }
 
+  /**
+   * Life-like cell surrounded by unchanged neighbors counts the same neighbors again
+   * return value: true
+   */
+  @Override
+  public boolean skipsWhenUnchanged() {
+    return true;
+  }
 }
@@ -1,12 +1,12 @@
 package cellsociety.Model;
 
-import java.util.SplittableRandom;
+import cellsociety.Controller.CellShape;
 
 /**
  * Purpose: This class represents a cell in the fire simulation. It contains methods to calculate
  * the next state of the cell based on the current state and its neighbors. Assumptions: Assumes
- * that the Cell class and Neighborhood class are implemented and can be used in this class.
- * Dependencies: Cell, Neighborhood
+ * that the Cell class and NeighborTable class are implemented and can be used in this class.
+ * Dependencies: Cell, NeighborTable, CounterRandom of the Grid
  *
  * @author Jay Yoon,Ted Peterson
  */
@@ -14,6 +14,7 @@ public class CellFire extends Cell {
   private static final int EMPTY_STATE = 0;
   private static final int WOOD_STATE = 1;
   private static final int BURNING_STATE = 2;
+  private static final int PERCENT = 100;
 
   private double probCatch;
 
@@ -41,16 +42,9 @@ public class CellFire extends Cell {
    */
   @Override
   public void apply(Grid grid, int w, int h) {
-    SplittableRandom random = new SplittableRandom();
-    int p = random.nextInt(100);
-    int cellCount = 0;
-    for (Cell c : neighbors) {
-      if (c.getType() == BURNING_STATE) {
-        cellCount++;
-      }
-    }
+    int cellCount = countNeighbors(grid, BURNING_STATE);
     if (this.getType() == WOOD_STATE && cellCount > 0) {
-      if (p < probCatch) {
+      if (catches(grid, getPosition(), probCatch)) {
         this.setNextState(BURNING_STATE);
       } else {
         this.setNextState(WOOD_STATE);
@@ -62,7 +56,18 @@ public class CellFire extends Cell {
   }
 
   /**
-   * Purpose: Method to set the neighbors of the cell based on standardNeuMann method Assumptions:
+   * Purpose: Draws whether wood next to fire catches this step, keyed by the grid's seed, the
+   * generation and the position so every engine and thread count gives the same fire.
+   * Assumptions: None Parameters: grid - Grid being stepped, index - position of the wood cell,
+   * probCatch - probability in percent. Exceptions: None Return value: true if the wood catches
+   */
+  static boolean catches(Grid grid, int index, double probCatch) {
+    return grid.getRandom().nextInt(grid.getGeneration(), index, 0, PERCENT) < probCatch;
+  }
+
+  /**
+   * Purpose: Method to set the neighbors of the cell to the shared von Neumann NeighborTable
+   * Assumptions:
    * The grid, width, and height parameters are not null Parameters:
    * <p>
    * grid: a Grid object representing the current grid of cells width: an integer representing the
@@ -71,7 +76,25 @@ public class CellFire extends Cell {
    */
   @Override
   public void setNeighbors(Grid grid, int width, int height) {
-    Neighborhood n = new Neighborhood();
-    neighbors = n.standardNeuMann(grid, width, height, this);
+    neighborTable = NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.VON_NEUMANN, grid);
+  }
+
+  /**
+   * Fire rule only reads current neighbor states and writes its own next state
+   * return value: true
+   */
+  @Override
+  public boolean isSynchronous() {
+    return true;
+  }
+
+  /**
+   * Fire cell only changes while burning or next to a burning cell, and burning cells always
+   * change
+   * return value: true
+   */
+  @Override
+  public boolean skipsWhenUnchanged() {
+    return true;
   }
 }
@@ -1,5 +1,7 @@
 package cellsociety.Model;
 
+import cellsociety.Controller.CellShape;
+
 /**
  * Purpose: This Java class, named CellPercolation, represents a single cell in a percolation
  * simulation. The purpose of this class is to define the behavior of a percolation cell, including
@@ -12,7 +14,7 @@ package cellsociety.Model;
  * <p>
  * Dependencies: The CellPercolation class depends on the Cell class, which is a superclass that
  * provides common functionality for all types of cells in the simulation. Additionally, the class
- * depends on the Neighborhood class, which is responsible for determining the neighbors of each
+ * depends on the NeighborTable class, which is responsible for determining the neighbors of each
  * cell in the grid.
  *
  * @author Jay Yoon
@@ -45,15 +47,13 @@ public class CellPercolation extends Cell {
     if (this.getRow() == 0 && this.getType() == EMPTY_STATE) {
       this.setNextState(FLOWING_STATE);
     }
-    for (Cell c : neighbors) {
-      if (c.getType() == FLOWING_STATE && this.getType() == EMPTY_STATE) {
-        this.setNextState(FLOWING_STATE);
-      }
+    if (this.getType() == EMPTY_STATE && countNeighbors(grid, FLOWING_STATE) > 0) {
+      this.setNextState(FLOWING_STATE);
     }
   }
 
   /**
-   * Purpose: Sets the neighbors of the cell based on percolationNeighbors method.
+   * Purpose: Sets the neighbors of the cell to the shared percolation NeighborTable.
    * <p>
    * Assumptions: None.
    * <p>
@@ -67,7 +67,25 @@ public class CellPercolation extends Cell {
    **/
   @Override
   public void setNeighbors(Grid grid, int width, int height) {
-    Neighborhood n = new Neighborhood();
-    neighbors = n.percolationNeighbors(grid, width,this);
+    neighborTable = NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.PERCOLATION, grid);
+  }
+
+  /**
+   * Percolation rule only reads current neighbor states and writes its own next state
+   * return value: true
+   */
+  @Override
+  public boolean isSynchronous() {
+    return true;
+  }
+
+  /**
+   * Percolation cell only starts flowing when a neighbor started flowing, except in the first
+   * step
+   * return value: true
+   */
+  @Override
+  public boolean skipsWhenUnchanged() {
+    return true;
   }
 }
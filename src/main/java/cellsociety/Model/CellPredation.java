@@ -1,140 +1,171 @@
 package cellsociety.Model;
 
+import cellsociety.Controller.CellShape;
 import java.util.ArrayList;
 
 /**
  * Purpose: This class represents the simulation of the predator-prey interaction in a grid-based
  * environment. It models the behavior of fish and sharks as they move around, eat each other, and
- * breed.
+ * breed. Fish claim an empty neighbor to swim into; sharks claim a neighboring fish to eat, or an
+ * empty neighbor if there is none. A fish claimed by a shark is eaten and does not move. The
+ * energy and breeding cycle of every fish and shark live in the Grid's AgentStore, so a move
+ * relinks the agent instead of copying its fields into the target cell.
  * Assumptions: The simulation assumes that the grid-based environment is large enough to
  * allow for interesting interactions between cells. It also assumes that there are only 3 cell
  * types: 0=empty cell 1=fish 2=shark.
- * Dependencies: This class depends on the Cell class, which
+ * Dependencies: This class depends on the AgentCell class, which
  * provides the basic properties and methods for a single cell in the grid. It also uses the Grid
- * and Neighborhood classes to obtain information about the surrounding cells and update the grid
- * accordingly.
+ * and NeighborTable classes to obtain information about the surrounding cells and update the grid
+ * accordingly, and the AgentStore of the Grid for its agents.
  *
  * @author Ted Peterson
  */
-public class CellPredation extends Cell {
+public class CellPredation extends AgentCell {
+  public static final int AGENT_FIELDS = 2;
+  private static final int ENERGY = 0;
+  private static final int CYCLE = 1;
   private static final int EMPTY_STATE = 0;
   private static final int FISH_STATE = 1;
   private static final int SHARK_STATE = 2;
+  private static final int BOUNDARY_STATE = 3;
 
   private static final int FISH_BREED_CYCLE = 5;
   private static final int SHARK_BREED_CYCLE = 5;
   private static final int SHARK_ENERGY = 3;
   private static final int FISH_ENERGY = 2;
-  private int energy;
-  private int myCycle;
-  private ArrayList<Cell> foodFish;
-  private ArrayList<Cell> emptyNeighborCells;
 
   public CellPredation(int type, String color, int pos, int width) {
     super(type, color, pos, width);
   }
 
   /**
-   * Updates the state of the cell according to the rules of the predator-prey simulation. Assumes
-   * that the grid and its contents have been initialized and that the cell has valid neighbors.
+   * Expresses the movement of fish and sharks for a Margolus neighborhood: every 2x2 block turns a
+   * quarter clockwise or counterclockwise, drawn for each block, so every fish and shark takes a
+   * random step and no two of them ever want the same cell. Eating, breeding and starving depend
+   * on the energy and breeding cycle of each agent, which a block of states does not hold, so this
+   * variant only moves them.
+   * <p>
+   * Assumptions: cells outside the grid read as state 3, and blocks holding one stay in place.
+   * <p>
+   * Parameters: None. Exceptions: None.
+   * <p>
+   * Return Value: MargolusRule of fish and shark movement.
+   */
+  public static MargolusRule blockRule() {
+    return new MargolusRule(BOUNDARY_STATE + 1, BOUNDARY_STATE, 2, (block, variant) -> {
+      for (int state : block) {
+        if (state == BOUNDARY_STATE) {
+          return;
+        }
+      }
+      int topLeft = block[0];
+      if (variant == 0) {
+        // clockwise: top left to top right to bottom right to bottom left
+        block[0] = block[2];
+        block[2] = block[3];
+        block[3] = block[1];
+        block[1] = topLeft;
+      } else {
+        block[0] = block[1];
+        block[1] = block[3];
+        block[3] = block[2];
+        block[2] = topLeft;
+      }
+    });
+  }
+
+  /**
+   * Decides the move of the fish or shark in this cell according to the rules of the
+   * predator-prey simulation. Assumes that the grid and its contents have been initialized and
+   * that the cell has valid neighbors.
    *
    * @param grid   the Grid object representing the simulation environment
    * @param width  the width of the grid
    * @param height the height of the grid
    */
   @Override
-  public void apply(Grid grid, int width, int height) {
-    foodFish = (ArrayList<Cell>) grid.getTypeFillCells();
-    findEmptyCellNieghbors();
+  protected void propose(Grid grid, int width, int height) {
+    AgentStore agents = grid.getAgents();
     switch (this.getType()) {
-      case EMPTY_STATE:
-        return;
-      case FISH_STATE:
+      case FISH_STATE -> {
+        ArrayList<Integer> emptyNeighborCells = neighborsOfType(grid, EMPTY_STATE);
         if (emptyNeighborCells.isEmpty()) {
-          if (this.getType() == FISH_STATE) {
-            grid.updateTypeFillCells(this);
-          }
-          this.myCycle++;
-          break;
-        } else if (foodFish.contains(this)) {
-          grid.removeTypeFillCell(this);
+          agents.add(agents.agentAt(getPosition()), CYCLE, 1);
+        } else {
+          claim(grid, emptyNeighborCells.get(choose(grid, emptyNeighborCells.size())));
         }
-        handleFish();
-        break;
-      case SHARK_STATE:
-        handleShark();
-        break;
-    }
-
-  }
-
-  private void findEmptyCellNieghbors() {
-    emptyNeighborCells = new ArrayList<>();
-    for (Cell c : neighbors) {
-      if (c.getType() == EMPTY_STATE && c.getNextType() == EMPTY_STATE) {
-        emptyNeighborCells.add(c);
+      }
+      case SHARK_STATE -> {
+        ArrayList<Integer> fishNeighbors = neighborsOfType(grid, FISH_STATE);
+        ArrayList<Integer> emptyNeighborCells = neighborsOfType(grid, EMPTY_STATE);
+        if (!fishNeighbors.isEmpty()) {
+          claim(grid, fishNeighbors.get(choose(grid, fishNeighbors.size())));
+        } else if (!emptyNeighborCells.isEmpty()) {
+          claim(grid, emptyNeighborCells.get(choose(grid, emptyNeighborCells.size())));
+        } else {
+          agents.add(agents.agentAt(getPosition()), ENERGY, -1);
+        }
+      }
+      default -> {
       }
     }
   }
 
-  private void handleFish() {
-    CellPredation migratedFish = (CellPredation) emptyNeighborCells.get(
-        (int) (Math.random() * emptyNeighborCells.size()));
-    migratedFish.setNextState(FISH_STATE);
-    migratedFish.myCycle = this.myCycle + 1;
-
-    if (myCycle != FISH_BREED_CYCLE) {
-      this.setNextState(EMPTY_STATE);
+  /**
+   * Moves the fish or shark into the cell it claimed, if it won the claim. A fish whose cell was
+   * claimed is being eaten and stays for the shark to take its place. An agent that moves at the
+   * end of its breeding cycle leaves a newborn behind.
+   *
+   * @param grid    the Grid object representing the simulation environment
+   * @param arbiter claims of the current step
+   */
+  @Override
+  public void resolve(Grid grid, MoveArbiter arbiter) {
+    if (!wonMove(arbiter) || (this.getType() == FISH_STATE && isClaimed(arbiter))) {
+      return;
     }
-    this.myCycle = 0;
-  }
-
-  private void handleShark() {
-    ArrayList<Cell> fishNeighbors = new ArrayList<>();
-    for (Cell c : neighbors) {
-      if (c.getType() == FISH_STATE && foodFish.contains(c)) {
-        fishNeighbors.add(c);
+    AgentStore agents = grid.getAgents();
+    int agent = agents.agentAt(getPosition());
+    int target = getMoveTarget();
+    if (this.getType() == SHARK_STATE) {
+      if (grid.getType(target) == FISH_STATE) {
+        agents.kill(agents.agentAt(target));
+        agents.add(agent, ENERGY, FISH_ENERGY);
+      } else {
+        agents.add(agent, ENERGY, -1);
       }
     }
-    if (!fishNeighbors.isEmpty()) {
-      sharkMoveToEmptyCell(fishNeighbors);
-
-    } else if (!emptyNeighborCells.isEmpty()) {
-      sharkEatFish();
+    int cycle = agents.get(agent, CYCLE);
+    agents.move(agent, target);
+    agents.set(agent, CYCLE, cycle + 1);
+    grid.setNextState(target, this.getType());
+    if (cycle == breedCycle()) {
+      int newborn = agents.spawn(getPosition());
+      agents.set(newborn, ENERGY, this.getType() == SHARK_STATE ? SHARK_ENERGY : 0);
     } else {
-      this.energy--;
+      this.setNextState(EMPTY_STATE);
     }
   }
 
-  private void sharkEatFish() {
-    CellPredation migratedShark = (CellPredation) emptyNeighborCells.get(
-        (int) (Math.random() * emptyNeighborCells.size()));
-    migratedShark.setNextState(SHARK_STATE);
-    migratedShark.myCycle = this.myCycle + 1;
-    migratedShark.energy--;
-    this.energy = SHARK_ENERGY;
-    if (myCycle != FISH_BREED_CYCLE) {
-      this.setNextState(EMPTY_STATE);
-    }
-    this.myCycle = 0;
+  private int breedCycle() {
+    return this.getType() == SHARK_STATE ? SHARK_BREED_CYCLE : FISH_BREED_CYCLE;
   }
 
-  private void sharkMoveToEmptyCell(ArrayList<Cell> fishNeighbors) {
-    CellPredation migratedShark = (CellPredation) fishNeighbors.get(
-        (int) (Math.random() * fishNeighbors.size()));
-    migratedShark.setNextState(SHARK_STATE);
-    migratedShark.myCycle = this.myCycle + 1;
-    migratedShark.energy = migratedShark.energy + FISH_ENERGY;
-    this.energy = SHARK_ENERGY;
-    if (myCycle != SHARK_BREED_CYCLE) {
-      this.setNextState(EMPTY_STATE);
+  private ArrayList<Integer> neighborsOfType(Grid grid, int type) {
+    ArrayList<Integer> list = new ArrayList<>();
+    for (int k = neighborTable.start(getPosition()); k < neighborTable.end(getPosition()); k++) {
+      int neighbor = neighborTable.neighbor(k);
+      if (neighbor < grid.getSize() && grid.getType(neighbor) == type) {
+        list.add(neighbor);
+      }
     }
-    this.myCycle = 0;
+    return list;
   }
 
   /**
-   * Sets the neighbors of the cell. Assumes that the grid has been initialized and that the cell's
-   * position is valid.
+   * Sets the neighbors of the cell to the shared von Neumann NeighborTable and registers the
+   * cell's fish or shark in the grid's AgentStore. Assumes that the grid has been initialized and
+   * that the cell's position is valid.
    *
    * @param grid   the Grid object representing the simulation environment
    * @param width  the width of the grid
@@ -142,7 +173,10 @@ public class CellPredation extends Cell {
    */
   @Override
   public void setNeighbors(Grid grid, int width, int height) {
-    Neighborhood n = new Neighborhood();
-    neighbors = n.standardNeuMann(grid, width, height, this);
+    neighborTable = NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.VON_NEUMANN, grid);
+    AgentStore agents = grid.getAgents();
+    if (this.getType() != EMPTY_STATE && agents.agentAt(getPosition()) == AgentStore.NONE) {
+      agents.spawn(getPosition());
+    }
   }
 }
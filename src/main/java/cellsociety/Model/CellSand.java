@@ -3,14 +3,18 @@ package cellsociety.Model;
 import java.util.ArrayList;
 /**
  * Purpose: This class represents a cell in a simulation using the Falling Sand and Water rules.
+ * Sand claims the cell below it if that cell is empty or holds water; water claims a random empty
+ * cell below or beside it. Particles move instead of being copied, so sand and water are conserved.
  * <p>
- * Assumptions: Water decides its flow direction using random variable
+ * Assumptions: Water decides its flow direction using random variable. Water claimed by sand swaps
+ * places with it and does not move by itself that step. The same rules can step the grid in 2x2
+ * blocks through blockRule and a MargolusKernel.
  * <p>
- * Dependencies: This class depends on the Cell class and the Neighborhood class.
+ * Dependencies: This class depends on the AgentCell class and the Grid class.
  *
  * @author Jay Yoon
  */
-public class CellSand extends Cell {
+public class CellSand extends AgentCell {
   private static final int EMPTY_STATE = 0;
   private static final int METAL_STATE = 1;
   private static final int SAND_STATE = 2;
@@ -21,8 +25,66 @@ public class CellSand extends Cell {
   }
 
   /**
-   * Purpose: Sets the neighbors of the cell based on its own rules.
-   * Different from other cell simulations in that current cell type is needed to determine neighbors.
+   * Purpose: Expresses the Falling Sand and Water rules for a Margolus neighborhood. In each 2x2
+   * block sand falls into the empty or water cell below it, swapping places with the water, and
+   * water flows into an empty cell below or beside it, the top row moving first and no particle
+   * moving twice. Water with two ways to go picks one by the variant drawn for the block: bit 0
+   * for the top left cell, bit 1 for the top right cell.
+   * <p>
+   * Assumptions: cells outside the grid are metal, which never moves.
+   * <p>
+   * Parameters: None. Exceptions: None.
+   * <p>
+   * Return Value: MargolusRule of sand and water.
+   */
+  public static MargolusRule blockRule() {
+    return new MargolusRule(WATER_STATE + 1, METAL_STATE, 4, (block, variant) -> {
+      boolean[] moved = new boolean[MargolusRule.BLOCK_CELLS];
+      // cell 0 can go down to 2 or across to 1, cell 1 down to 3 or across to 0
+      fall(block, moved, 0, 2, 1, (variant & 1) == 1);
+      fall(block, moved, 1, 3, 0, (variant & 2) == 2);
+      flow(block, moved, 2, 3);
+      flow(block, moved, 3, 2);
+    });
+  }
+
+  private static void fall(int[] block, boolean[] moved, int cell, int down, int across,
+      boolean preferAcross) {
+    if (moved[cell]) {
+      return;
+    }
+    if (block[cell] == SAND_STATE
+        && (block[down] == EMPTY_STATE || block[down] == WATER_STATE)) {
+      swap(block, moved, cell, down);
+    } else if (block[cell] == WATER_STATE) {
+      boolean canFall = block[down] == EMPTY_STATE;
+      boolean canFlow = block[across] == EMPTY_STATE && !moved[across];
+      if (canFall && (!canFlow || !preferAcross)) {
+        swap(block, moved, cell, down);
+      } else if (canFlow) {
+        swap(block, moved, cell, across);
+      }
+    }
+  }
+
+  private static void flow(int[] block, boolean[] moved, int cell, int across) {
+    if (!moved[cell] && !moved[across] && block[cell] == WATER_STATE
+        && block[across] == EMPTY_STATE) {
+      swap(block, moved, cell, across);
+    }
+  }
+
+  private static void swap(int[] block, boolean[] moved, int cell, int target) {
+    int state = block[cell];
+    block[cell] = block[target];
+    block[target] = state;
+    moved[cell] = true;
+    moved[target] = true;
+  }
+
+  /**
+   * Purpose: Sets the neighbors of the cell. Sand and water find the cells they can move into
+   * from their position when proposing, so no neighbor list is kept.
    * <p>
    * Assumptions: None.
    * <p>
@@ -37,67 +99,74 @@ public class CellSand extends Cell {
 
   @Override
   public void setNeighbors(Grid grid, int width, int height) {
-    neighbors = new ArrayList<>();
+  }
+
+  /**
+   * Purpose: Decides the move of the particle in this cell according to the rules of the Falling
+   * Sand and Water simulation.
+   * <p>
+   * Assumptions: None.
+   * <p>
+   * Parameters:
+   * <p>
+   * grid - a Grid object that represents the grid in which the cell is located. width - an integer
+   * that represents the width of the grid. height - an integer that represents the height of the
+   * grid. Exceptions: None.
+   * <p>
+   * Return Value: None.
+   */
+  @Override
+  protected void propose(Grid grid, int w, int h) {
+    int i = this.getPosition();
     int row = this.getRow();
     int col = this.getCol();
-    int i = grid.getIndex(this);
-
-    if (this.getNextType() == SAND_STATE) {
-      if (row < height - 1) {
-        this.neighbors.add(grid.getCellPosition(i + width));
+    if (this.getType() == SAND_STATE && row < h - 1) {
+      int down = grid.getType(i + w);
+      if (down == EMPTY_STATE || down == WATER_STATE) {
+        claim(grid, i + w);
       }
     }
-    if (this.getNextType() == WATER_STATE) {
-      if (row < height - 1) {
-        this.neighbors.add(grid.getCellPosition(i + width));
+    if (this.getType() == WATER_STATE) {
+      ArrayList<Integer> flow = new ArrayList<>();
+      if (row < h - 1 && grid.getType(i + w) == EMPTY_STATE) {
+        flow.add(i + w);
+      }
+      if (col > 0 && grid.getType(i - 1) == EMPTY_STATE) {
+        flow.add(i - 1);
       }
-      if (col > 0) {
-        this.neighbors.add(grid.getCellPosition(i - 1));
+      if (col < w - 1 && grid.getType(i + 1) == EMPTY_STATE) {
+        flow.add(i + 1);
       }
-      if (col < width - 1) {
-        this.neighbors.add(grid.getCellPosition(i + 1));
+      if (!flow.isEmpty()) {
+        claim(grid, flow.get(choose(grid, flow.size())));
       }
     }
   }
 
   /**
-   * Purpose: Updates the state of the cell according to the rules of the Falling Sand and Water simulation.
+   * Purpose: Moves the particle into the cell it claimed, if it won the claim. Sand sinking into
+   * water leaves the water in its old cell.
    * <p>
-   * Assumptions: The cell's neighbors have been set.
+   * Assumptions: every cell has proposed.
    * <p>
    * Parameters:
    * <p>
-   * grid - a Grid object that represents the grid in which the cell is located. width - an integer
-   * that represents the width of the grid. height - an integer that represents the height of the
-   * grid. Exceptions: None.
+   * grid - a Grid object that represents the grid in which the cell is located. arbiter - claims
+   * of the current step. Exceptions: None.
    * <p>
    * Return Value: None.
    */
   @Override
-  public void apply(Grid grid, int w, int h) {
-    if (this.neighbors.isEmpty()) {
+  public void resolve(Grid grid, MoveArbiter arbiter) {
+    if (isClaimed(arbiter) || !wonMove(arbiter)) {
       return;
     }
-    if (this.getType() == SAND_STATE) {
-      Cell down = this.neighbors.get(0);
-      if (down.getType() == EMPTY_STATE || down.getType() == SAND_STATE) {
-        down.setNextState(SAND_STATE);
-        down.setNeighbors(grid, w, h);
-      }
-      if (down.getType() == WATER_STATE) {
-        down.setNextState(SAND_STATE);
-        this.setNextState(WATER_STATE);
-        down.setNeighbors(grid, w, h);
-        this.setNeighbors(grid, w, h);
-      }
-    }
-    if (this.getType() == WATER_STATE) {
-      int index = (int) (Math.random() * this.neighbors.size());
-      Cell random = this.neighbors.get(index);
-      if (random.getType() == EMPTY_STATE || random.getType() == WATER_STATE) {
-        random.setNextState(WATER_STATE);
-        random.setNeighbors(grid, w, h);
-      }
+    int target = getMoveTarget();
+    if (this.getType() == SAND_STATE && grid.getType(target) == WATER_STATE) {
+      this.setNextState(WATER_STATE);
+    } else {
+      this.setNextState(EMPTY_STATE);
     }
+    grid.setNextState(target, this.getType());
   }
 }
@@ -1,18 +1,20 @@
 package cellsociety.Model;
 
-import java.util.ArrayList;
+import cellsociety.Controller.CellShape;
 
 /**
- * Purpose: This class represents a cell in the Segregation simulation. Assumptions: Assumes that
- * the Cell class has been implemented and that the Grid class exists. Dependencies: Cell class,
- * Grid class, Neighborhood class.
+ * Purpose: This class represents a cell in the Segregation simulation. Unhappy agents claim a
+ * random cell that was empty at the start of the step and move there if they win the claim. A
+ * happy agent stays happy until a neighbor moves, so only unhappy agents and cells next to last
+ * step's moves are evaluated.
+ * Assumptions: Assumes that the Cell class has been implemented and that the Grid class exists.
+ * Dependencies: AgentCell class, Grid class, NeighborTable class, VacancyIndex and ActiveFrontier
+ * of the Grid.
  *
  * @author Jay Yoon,Ted Peterson
  */
-public class CellSegregation extends Cell {
+public class CellSegregation extends AgentCell {
   private static final int EMPTY_STATE = 0;
-  private ArrayList<Cell> neighbors;
-  private ArrayList<Cell> emptyCells;
   private double threshold;
 
   /**
@@ -27,54 +29,79 @@ public class CellSegregation extends Cell {
     this.threshold = threshold;
   }
 
-  private void relocate() {
-    if (!emptyCells.isEmpty()) {
-      int index = (int) (Math.random() * emptyCells.size());
-      Cell target = emptyCells.get(index);
-      target.setNextState(this.getType());
-      this.setNextState(0);
+  private void relocate(Grid grid) {
+    ActiveFrontier frontier = grid.getFrontier();
+    if (frontier != null) {
+      frontier.keepActive(getPosition());
+    }
+    VacancyIndex vacancies = grid.getVacancies();
+    if (vacancies.size() > 0) {
+      claim(grid, vacancies.get(choose(grid, vacancies.size())));
     }
   }
 
   /**
-   * Purpose: Applies the segregation rule to the cell. Assumptions: The grid has been initialized
-   * and the cell's neighbors have been set. Parameters: grid (Grid): The grid containing the cell
-   * and its neighbors. width (int): The width of the grid. height (int): The height of the grid.
-   * Exceptions: None. Return Value: None.
+   * Purpose: Applies the segregation rule to the cell, claiming an empty cell if the agent is
+   * unhappy. Assumptions: The grid has been initialized and the cell's neighbors have been set.
+   * Parameters: grid (Grid): The grid containing the cell and its neighbors. width (int): The
+   * width of the grid. height (int): The height of the grid. Exceptions: None. Return Value:
+   * None.
    *
    */
   @Override
-  public void apply(Grid grid, int width, int height) {
+  protected void propose(Grid grid, int width, int height) {
     if (this.getType() == EMPTY_STATE) {
       return;
     }
-    emptyCells = (ArrayList<Cell>) grid.getEmptyCells();
     int sameCellCount = 0;
     int total = 0;
-    for (Cell c : neighbors) {
-      if (c.getType() != EMPTY_STATE) {
+    for (int k = neighborTable.start(getPosition()); k < neighborTable.end(getPosition()); k++) {
+      int type = grid.getType(neighborTable.neighbor(k));
+      if (type != EMPTY_STATE) {
         total++;
       }
-      if (c.getType() == this.getType()) {
+      if (type == this.getType()) {
         sameCellCount++;
       }
     }
     double percentage = (double) sameCellCount / total * 100;
     if (percentage < threshold) {
-      this.relocate();
+      this.relocate(grid);
     }
   }
 
   /**
-   * Purpose: Sets the neighbors of the cell based on standardMoore method. Assumptions: The grid
-   * has been initialized. Parameters: grid (Grid): The grid containing the cell and its neighbors.
-   * width (int): The width of the grid. height (int): The height of the grid. Exceptions: None.
-   * Return Value: None.
+   * Purpose: Moves the agent into the empty cell it claimed, if it won the claim. Assumptions:
+   * every cell has proposed. Parameters: grid (Grid): The grid containing the cell. arbiter
+   * (MoveArbiter): claims of the current step. Exceptions: None. Return Value: None.
+   */
+  @Override
+  public void resolve(Grid grid, MoveArbiter arbiter) {
+    if (wonMove(arbiter)) {
+      grid.setNextState(getMoveTarget(), this.getType());
+      this.setNextState(EMPTY_STATE);
+    }
+  }
+
+  /**
+   * Purpose: Tells the grid that an agent's happiness only depends on its neighbors, so it is only
+   * evaluated again when one of them changed or while it is unhappy. Assumptions: None.
+   * Parameters: None. Exceptions: None. Return Value: true.
+   */
+  @Override
+  public boolean skipsWhenUnchanged() {
+    return true;
+  }
+
+  /**
+   * Purpose: Sets the neighbors of the cell to the shared standard Moore NeighborTable.
+   * Assumptions: The grid has been initialized. Parameters: grid (Grid): The grid containing the
+   * cell and its neighbors. width (int): The width of the grid. height (int): The height of the
+   * grid. Exceptions: None. Return Value: None.
    *
    */
   @Override
   public void setNeighbors(Grid grid, int width, int height) {
-    Neighborhood n = new Neighborhood();
-    neighbors = n.standardMoore(grid, width, height, this);
+    neighborTable = NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.MOORE, grid);
   }
-}
\ No newline at end of file
+}
@@ -1,34 +1,59 @@
 package cellsociety.Model;
 
-import java.util.ArrayList;
+import cellsociety.Controller.CellShape;
+
 /**
  * Purpose: This class represents a cell in a simulation using the SugarScape rules.
  * <p>
  * Assumptions: Assumed sugar growback rate/interval, patch sugar limit, agent sugar initial value/metabolism/ and vision as default.
+ * Agents claim the richest visible patch; when several agents want the same patch the MoveArbiter picks one.
+ * The sugar, metabolism and vision of every agent live in the Grid's AgentStore, so an agent
+ * keeps them when it moves instead of having them copied into the next patch. The sugar of every
+ * patch lives in a SugarLandscape shared by all cells, which finds the richest patch in sight and
+ * grows sugar back lazily from the generation a patch was last harvested. Only agents and cells
+ * next to last step's moves are visited, so a step costs time in proportion to the agents.
  * <p>
- * Dependencies: This class depends on the Cell class and the Neighborhood class.
+ * Dependencies: This class depends on the AgentCell class, the Grid class, the Grid's AgentStore
+ * and the SugarLandscape.
  *
  * @author Ted Peterson
  */
-public class CellSugarAgent extends Cell {
+public class CellSugarAgent extends AgentCell {
+  public static final int AGENT_FIELDS = 3;
+  private static final int SUGAR = 0;
+  private static final int METABOLISM = 1;
+  private static final int VISION = 2;
   private static final int AGENT_STATE = 1;
   private static final int SUGAR_STATE = 2;
-  private final int SUGAR_GROWBACK_RATE = 2;
-  private final int SUGAR_GROWBACK_INTERVAL = 3;
-  private int mySugarLimit = 8;
-  private int mySugarAmount;
-  private int myAgentSugar = 10;
-  private int myAgentMetabolism = 2;
-  private int myAgentVision = 3;
-  private int myCycle;
+  private static final int SUGAR_GROWBACK_RATE = 2;
+  private static final int SUGAR_GROWBACK_INTERVAL = 3;
+  private static final int SUGAR_LIMIT = 8;
+  private final SugarLandscape landscape;
+  private final int myAgentSugar = 10;
+  private final int myAgentMetabolism = 2;
+  private final int myAgentVision = 3;
+  private int myHarvest;
 
-  public CellSugarAgent(int type, String color, int pos, int width) {
+  public CellSugarAgent(int type, String color, int pos, int width, SugarLandscape landscape) {
     super(type, color, pos, width);
-    mySugarAmount = type;
+    this.landscape = landscape;
+  }
+
+  /**
+   * Purpose: Creates the landscape shared by the cells of a grid, growing sugar back at the
+   * default rate and interval up to the default limit.
+   * <p>
+   * Parameters: width, height - size of the grid. Return Value: empty SugarLandscape.
+   */
+  public static SugarLandscape createLandscape(int width, int height) {
+    return new SugarLandscape(width, height, SUGAR_GROWBACK_RATE, SUGAR_GROWBACK_INTERVAL,
+        SUGAR_LIMIT);
   }
 
   /**
-   * Purpose: Sets the neighbors of the cell based on sugarScape vision method.
+   * Purpose: Puts the patch's sugar into the landscape and registers the agent standing on the
+   * cell in the grid's AgentStore, with the default sugar, metabolism and vision. The von Neumann
+   * table only tells the grid which cells to wake next to a move; agents see further than it.
    * <p>
    * Assumptions: None.
    * <p>
@@ -43,35 +68,28 @@ public class CellSugarAgent extends Cell {
 
   @Override
   public void setNeighbors(Grid grid, int width, int height) {
-    neighbors = new ArrayList<>();
-    if (this.getNextType() != AGENT_STATE) {
+    neighborTable = NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.VON_NEUMANN, grid);
+    AgentStore agents = grid.getAgents();
+    if (agents.agentAt(getPosition()) != AgentStore.NONE) {
       return;
     }
-
-    int row = this.getRow();
-    int col = this.getCol();
-    int i = grid.getIndex(this);
-
-    for (int j = 1; j <= myAgentVision; j++) {
-      if (row > j - 1) {
-        this.neighbors.add(0, grid.getCellPosition(i - width * j));
-      }
-      if (col > j - 1) {
-        this.neighbors.add(0, grid.getCellPosition(i - j));
-      }
-      if (row < (height - j)) {
-        this.neighbors.add(0, grid.getCellPosition(i + width * j));
-      }
-      if (col < (width - j)) {
-        this.neighbors.add(0, grid.getCellPosition(i + j));
-      }
+    landscape.setSugar(getPosition(), this.getType(), grid.getGeneration());
+    if (this.getType() != AGENT_STATE) {
+      return;
     }
+    landscape.setOccupied(getPosition(), true);
+    int agent = agents.spawn(getPosition());
+    agents.set(agent, SUGAR, myAgentSugar);
+    agents.set(agent, METABOLISM, myAgentMetabolism);
+    agents.set(agent, VISION, myAgentVision);
   }
 
   /**
-   * Purpose: Updates the state of the cell according to the rules of the SugarScape simulation.
+   * Purpose: Decides the move of the agent according to the rules of the SugarScape simulation:
+   * claims the free patch with the most sugar the agent sees in the four directions, nearest
+   * patches winning ties, and remembers how much sugar it would harvest.
    * <p>
-   * Assumptions: The cell's neighbors have been set.
+   * Assumptions: The cell's agent has been registered.
    * <p>
    * Parameters:
    * <p>
@@ -81,49 +99,67 @@ public class CellSugarAgent extends Cell {
    * <p>
    * Return Value: None.
    */
-
   @Override
-  public void apply(Grid grid, int width, int height) {
-    if (myCycle == SUGAR_GROWBACK_INTERVAL) {
-      mySugarAmount += SUGAR_GROWBACK_RATE;
-      if (mySugarAmount > mySugarLimit) {
-        mySugarAmount = mySugarLimit;
-      }
-      myCycle = 0;
+  protected void propose(Grid grid, int width, int height) {
+    if (this.getType() != AGENT_STATE) {
+      return;
+    }
+    grid.getFrontier().keepActive(getPosition());
+    AgentStore agents = grid.getAgents();
+    int agent = agents.agentAt(getPosition());
+    if (agents.get(agent, SUGAR) <= 0) {
+      return;
+    }
+    landscape.refresh(grid.getGeneration());
+    int maxPatch = landscape.richest(getPosition(), agents.get(agent, VISION));
+    if (maxPatch != SugarLandscape.NONE) {
+      myHarvest = landscape.getSugar(maxPatch, grid.getGeneration());
+      claim(grid, maxPatch);
     }
+  }
 
+  /**
+   * Purpose: Moves the agent into the patch it claimed, if it won the claim, harvesting all of the
+   * patch's sugar and paying its metabolism out of the harvest. Agents that ran out of sugar die.
+   * <p>
+   * Assumptions: every cell has proposed.
+   * <p>
+   * Parameters:
+   * <p>
+   * grid - a Grid object that represents the grid in which the cell is located. arbiter - claims
+   * of the current step. Exceptions: None.
+   * <p>
+   * Return Value: None.
+   */
+  @Override
+  public void resolve(Grid grid, MoveArbiter arbiter) {
     if (this.getType() == AGENT_STATE) {
-      if (this.myAgentSugar <= 0) {
+      AgentStore agents = grid.getAgents();
+      int agent = agents.agentAt(getPosition());
+      if (agents.get(agent, SUGAR) <= 0) {
+        agents.kill(agent);
+        landscape.setOccupied(getPosition(), false);
         this.setNextState(SUGAR_STATE);
         return;
       }
-      int maxPatchIndex = 0;
-      int maxPatchAmount = Integer.MIN_VALUE;
-      for (int i = 0; i < neighbors.size(); i++) {
-        CellSugarAgent c = (CellSugarAgent) neighbors.get(i);
-        if (c.getSugar() >= maxPatchAmount && c.getType() != AGENT_STATE) {
-          maxPatchIndex = i;
-          maxPatchAmount = c.getSugar();
-        }
-      }
-      if (neighbors.isEmpty()) {
-        return;
+      if (wonMove(arbiter)) {
+        agents.move(agent, getMoveTarget());
+        landscape.setOccupied(getPosition(), false);
+        landscape.setOccupied(getMoveTarget(), true);
+        landscape.setSugar(getMoveTarget(), 0, grid.getGeneration());
+        agents.add(agent, SUGAR, myHarvest - agents.get(agent, METABOLISM));
+        grid.setNextState(getMoveTarget(), AGENT_STATE);
+        this.setNextState(SUGAR_STATE);
       }
-      CellSugarAgent maxPatch = (CellSugarAgent) neighbors.get(maxPatchIndex);
-      maxPatch.setNextState(AGENT_STATE);
-      maxPatch.myAgentVision = this.myAgentVision;
-      maxPatch.myAgentSugar = this.myAgentSugar + maxPatch.mySugarAmount - myAgentMetabolism;
-      maxPatch.myAgentMetabolism = this.myAgentMetabolism;
-
-      this.setNextState(SUGAR_STATE);
-      maxPatch.setNeighbors(grid, width, height);
-      this.setNeighbors(grid, width, height);
     }
-    myCycle++;
-
   }
 
-  public int getSugar() {
-    return this.mySugarAmount;
+  /**
+   * Purpose: Tells the grid that cells without an agent have nothing to do, so only agents, which
+   * keep themselves active, and cells next to last step's moves are visited. Return Value: true.
+   */
+  @Override
+  public boolean skipsWhenUnchanged() {
+    return true;
   }
 }
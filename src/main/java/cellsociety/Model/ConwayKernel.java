@@ -0,0 +1,71 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.CellShape;
+
+/**
+ * Purpose: Game of Life rule stepped directly over the Grid's StateStore, so a standard Conway
+ * simulation runs without a CellConway object per site.
+ * <p>
+ * Assumptions: same rules and Moore neighborhood as CellConway (0 = dead, 1 = alive), including
+ * the grid's boundary
+ * <p>
+ * Dependencies: GridKernel, Grid, NeighborTable
+ *
+ * @author Jay Yoon
+ */
+public class ConwayKernel implements GridKernel {
+
+  private static final int DEAD_STATE = 0;
+  private static final int ALIVE_STATE = 1;
+  private NeighborTable table;
+  private Grid tableGrid;
+
+  /**
+   * applies Conway rules to every cell in a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    NeighborTable table = getStencil(grid);
+    for (int i = fromRow * grid.getWidth(); i < toRow * grid.getWidth(); i++) {
+      apply(grid, table, i);
+    }
+  }
+
+  /**
+   * applies Conway rules to a single cell
+   * parameter: Grid to be stepped, position of cell
+   */
+  @Override
+  public void apply(Grid grid, int index) {
+    apply(grid, getStencil(grid), index);
+  }
+
+  /**
+   * Conway cells surrounded by unchanged neighbors keep their state
+   * parameter: Grid to be stepped
+   * return value: Moore NeighborTable of grid, following its boundary
+   */
+  @Override
+  public NeighborTable getStencil(Grid grid) {
+    if (tableGrid != grid) {
+      table = NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.MOORE, grid);
+      tableGrid = grid;
+    }
+    return table;
+  }
+
+  private void apply(Grid grid, NeighborTable table, int index) {
+    int[] offsets = table.getOffsets();
+    int[] neighbors = table.getNeighbors();
+    int alive = 0;
+    for (int k = offsets[index]; k < offsets[index + 1]; k++) {
+      alive += grid.getType(neighbors[k]);
+    }
+    if (alive == 3 || (alive == 2 && grid.getType(index) == ALIVE_STATE)) {
+      grid.setNextState(index, ALIVE_STATE);
+    } else {
+      grid.setNextState(index, DEAD_STATE);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: counter-based random numbers for stochastic rules. A draw is a hash of the simulation
+ * seed, the generation, the position of the cell drawing and the number of the draw within that
+ * cell's step, computed with SplitMix64 finalizers chained over the four keys. No state is shared
+ * or advanced, so each cell gets the same numbers however cells are split across threads or in
+ * what order they are visited, and a run can be replayed from its seed.
+ * <p>
+ * Assumptions: a cell that needs several numbers in one step numbers its draws 0, 1, 2, ...; two
+ * draws with the same keys give the same number. Generation 0 is used while building the initial
+ * layout, steps start at generation 1.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public final class CounterRandom {
+
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+  private static final int DOUBLE_SHIFT = Long.SIZE - 53;
+  private final long seed;
+
+  public CounterRandom(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * gets seed the numbers are keyed by
+   * return value: long value of seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * draws 64 random bits
+   * parameter: generation, position of cell drawing, number of draw within the cell's step
+   * return value: long value uniform over all longs
+   */
+  public long bits(long generation, int index, int draw) {
+    long z = mix(seed + GOLDEN_GAMMA * (generation + 1));
+    z = mix(z + GOLDEN_GAMMA * (index + 1L));
+    return mix(z + GOLDEN_GAMMA * (draw + 1L));
+  }
+
+  /**
+   * draws an int in a range
+   * parameter: generation, position of cell drawing, number of draw, upper bound (exclusive, > 0)
+   * return value: int value between 0 (inclusive) and bound (exclusive)
+   */
+  public int nextInt(long generation, int index, int draw, int bound) {
+    return (int) (((bits(generation, index, draw) >>> Integer.SIZE) * bound) >>> Integer.SIZE);
+  }
+
+  /**
+   * draws a double in [0, 1)
+   * parameter: generation, position of cell drawing, number of draw
+   * return value: double value with 53 random bits
+   */
+  public double nextDouble(long generation, int index, int draw) {
+    return (bits(generation, index, draw) >>> DOUBLE_SHIFT) * DOUBLE_UNIT;
+  }
+
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
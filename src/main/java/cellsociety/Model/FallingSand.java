@@ -0,0 +1,224 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: falling sand and water stepped in place over one byte per cell. Each step sweeps the
+ * rows from the bottom up, so a particle sees the cells below it already moved and a whole column
+ * falls in a single pass, and sweeps every row in the opposite direction of the row below and of
+ * the same row in the last step, so water does not drift to one side. The grid is split into
+ * CHUNK_SIZE x CHUNK_SIZE chunks; a chunk in which nothing moved goes to sleep and is skipped until
+ * a change in or next to it wakes it, so a settled pile costs nothing and a step costs time in
+ * proportion to the moving particles.
+ * <p>
+ * Assumptions: same states and moves as CellSand (0 = empty, 1 = metal, 2 = sand, 3 = water): sand
+ * falls into an empty cell or sinks into water below it, swapping places with the water, and water
+ * flows into a random empty cell below or beside it, drawn from a CounterRandom by generation and
+ * position. Unlike CellSand, which moves every particle at once, a particle sees the moves made
+ * before it in the sweep; water that flowed sideways is not visited again in the same row, so no
+ * particle moves twice in a step. Sleeping changes nothing: a particle that could not move when it
+ * was last visited stays stuck until a cell next to it changes, which wakes its chunk.
+ * <p>
+ * Dependencies: CounterRandom
+ *
+ * @author Jay Yoon
+ */
+public class FallingSand {
+
+  public static final int CHUNK_SIZE = 32;
+  private static final int CHUNK_SHIFT = 5;
+  private static final int EMPTY_STATE = 0;
+  private static final int SAND_STATE = 2;
+  private static final int WATER_STATE = 3;
+  private static final int FLOW_DRAW = 0;
+  private static final int WORD_SHIFT = 6;
+  private final int width;
+  private final int height;
+  private final byte[] cells;
+  private final int chunksX;
+  private final int chunksY;
+  // awake: chunks swept in this step, also woken by changes made earlier in the sweep
+  private final boolean[] awake;
+  private final boolean[] waking;
+  private final int[] awakeInRow;
+  // movedAt[x] == sweep if the cell at column x of the row being swept was filled by flowing water
+  private final int[] movedAt;
+  private final int[] flow = new int[3];
+  private final long[] changed;
+  private int sweep;
+  private int awakeCount;
+
+  /**
+   * creates an empty box with every chunk awake
+   * parameter: width and height of box
+   */
+  public FallingSand(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.cells = new byte[width * height];
+    this.chunksX = (width + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+    this.chunksY = (height + CHUNK_SIZE - 1) >> CHUNK_SHIFT;
+    this.awake = new boolean[chunksX * chunksY];
+    this.waking = new boolean[chunksX * chunksY];
+    this.awakeInRow = new int[chunksY];
+    this.movedAt = new int[width];
+    this.changed = new long[(width * height + Long.SIZE - 1) >> WORD_SHIFT];
+    for (int chunk = 0; chunk < awake.length; chunk++) {
+      waking[chunk] = true;
+    }
+    wakeUp();
+  }
+
+  /**
+   * gets state of a cell
+   * parameter: position of cell
+   * return value: int value representing state
+   */
+  public int get(int index) {
+    return cells[index];
+  }
+
+  /**
+   * sets state of a cell, waking the chunks around it
+   * parameter: position of cell, new state
+   */
+  public void set(int index, int state) {
+    cells[index] = (byte) state;
+    wake(index);
+  }
+
+  /**
+   * moves every particle of the awake chunks once, then puts the chunks in which nothing changed
+   * to sleep
+   * parameter: CounterRandom drawing the flow of water, generation being stepped
+   */
+  public void step(CounterRandom random, long generation) {
+    Arrays.fill(changed, 0);
+    for (int chunkRow = chunksY - 1; chunkRow >= 0; chunkRow--) {
+      int top = chunkRow << CHUNK_SHIFT;
+      for (int y = Math.min(height, top + CHUNK_SIZE) - 1; y >= top; y--) {
+        if (awakeInRow[chunkRow] == 0) {
+          break;
+        }
+        sweep++;
+        boolean leftward = ((y + generation) & 1) == 1;
+        for (int k = 0; k < chunksX; k++) {
+          int chunkCol = leftward ? chunksX - 1 - k : k;
+          if (!awake[chunkRow * chunksX + chunkCol]) {
+            continue;
+          }
+          int left = chunkCol << CHUNK_SHIFT;
+          int right = Math.min(width, left + CHUNK_SIZE) - 1;
+          if (leftward) {
+            for (int x = right; x >= left; x--) {
+              move(x, y, random, generation);
+            }
+          } else {
+            for (int x = left; x <= right; x++) {
+              move(x, y, random, generation);
+            }
+          }
+        }
+      }
+    }
+    wakeUp();
+  }
+
+  /**
+   * gets the cells that changed in the last step
+   * return value: bitset with bit i % 64 of word i / 64 set if position i changed; a cell emptied
+   * and filled again in one sweep is set although it holds the same state
+   */
+  public long[] getChanged() {
+    return changed;
+  }
+
+  /**
+   * gets number of chunks swept in the next step
+   * return value: int value representing awake chunks, the rest of the box sleeps
+   */
+  public int getAwakeCount() {
+    return awakeCount;
+  }
+
+  private void move(int x, int y, CounterRandom random, long generation) {
+    int i = y * width + x;
+    int state = cells[i];
+    if (state == SAND_STATE) {
+      if (y < height - 1) {
+        int below = cells[i + width];
+        if (below == EMPTY_STATE || below == WATER_STATE) {
+          swap(i, i + width);
+        }
+      }
+      return;
+    }
+    if (state != WATER_STATE || movedAt[x] == sweep) {
+      return;
+    }
+    int count = 0;
+    if (y < height - 1 && cells[i + width] == EMPTY_STATE) {
+      flow[count++] = i + width;
+    }
+    if (x > 0 && cells[i - 1] == EMPTY_STATE) {
+      flow[count++] = i - 1;
+    }
+    if (x < width - 1 && cells[i + 1] == EMPTY_STATE) {
+      flow[count++] = i + 1;
+    }
+    if (count == 0) {
+      return;
+    }
+    int target = flow[count == 1 ? 0 : random.nextInt(generation, i, FLOW_DRAW, count)];
+    if (target != i + width) {
+      movedAt[target - y * width] = sweep;
+    }
+    swap(i, target);
+  }
+
+  private void swap(int from, int to) {
+    byte state = cells[from];
+    cells[from] = cells[to];
+    cells[to] = state;
+    wake(from);
+    wake(to);
+    changed[from >> WORD_SHIFT] |= 1L << from;
+    changed[to >> WORD_SHIFT] |= 1L << to;
+  }
+
+  // wakes the chunks holding the cell and its neighbors, both for the rest of the sweep and the
+  // next step
+  private void wake(int index) {
+    int x = index % width;
+    int y = index / width;
+    int fromCol = Math.max(0, x - 1) >> CHUNK_SHIFT;
+    int toCol = Math.min(width - 1, x + 1) >> CHUNK_SHIFT;
+    int fromRow = Math.max(0, y - 1) >> CHUNK_SHIFT;
+    int toRow = Math.min(height - 1, y + 1) >> CHUNK_SHIFT;
+    for (int chunkRow = fromRow; chunkRow <= toRow; chunkRow++) {
+      for (int chunkCol = fromCol; chunkCol <= toCol; chunkCol++) {
+        int chunk = chunkRow * chunksX + chunkCol;
+        if (!awake[chunk]) {
+          awake[chunk] = true;
+          awakeInRow[chunkRow]++;
+        }
+        waking[chunk] = true;
+      }
+    }
+  }
+
+  private void wakeUp() {
+    awakeCount = 0;
+    for (int chunkRow = 0; chunkRow < chunksY; chunkRow++) {
+      awakeInRow[chunkRow] = 0;
+      for (int chunk = chunkRow * chunksX; chunk < (chunkRow + 1) * chunksX; chunk++) {
+        awake[chunk] = waking[chunk];
+        waking[chunk] = false;
+        if (awake[chunk]) {
+          awakeInRow[chunkRow]++;
+          awakeCount++;
+        }
+      }
+    }
+  }
+}
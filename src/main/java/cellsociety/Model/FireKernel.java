@@ -0,0 +1,76 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: spreading fire rule stepped a row at a time, without a CellFire object per site.
+ * Burning von Neumann neighbors of a whole row are counted at once by a RowCounter, with vector
+ * instructions when the jdk.incubator.vector module is present.
+ * <p>
+ * Assumptions: same rules as CellFire (0 = empty, 1 = wood, 2 = burning): burning cells burn out,
+ * and wood next to a burning cell catches fire with probability probCatch percent, drawn from the
+ * same keyed numbers as CellFire so both give the same fire. Every cell is written each step, so
+ * the Grid swaps its arrays instead of tracking changed cells.
+ * <p>
+ * Dependencies: GridKernel, Grid, RowCounts, RowCounter, CellFire for the keyed draws
+ *
+ * @author Jay Yoon
+ */
+public class FireKernel implements GridKernel {
+
+  private static final int EMPTY_STATE = 0;
+  private static final int WOOD_STATE = 1;
+  private static final int BURNING_STATE = 2;
+  private final double probCatch;
+  private final RowCounter counter;
+
+  public FireKernel(double probCatch) {
+    this(probCatch, RowCounter.create());
+  }
+
+  /**
+   * creates a kernel adding rows with a given counter, to compare the vector and scalar counters
+   * parameter: probability in percent that wood next to fire catches, RowCounter adding the rows
+   */
+  public FireKernel(double probCatch, RowCounter counter) {
+    this.probCatch = probCatch;
+    this.counter = counter;
+  }
+
+  /**
+   * applies the fire rule to every cell in a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    if (fromRow >= toRow) {
+      return;
+    }
+    int width = grid.getWidth();
+    RowCounts rows = new RowCounts(grid, NeighborhoodKind.VON_NEUMANN, BURNING_STATE, counter);
+    rows.start(fromRow);
+    for (int row = fromRow; row < toRow; row++) {
+      if (row > fromRow) {
+        rows.advance();
+      }
+      byte[] burning = rows.count();
+      int base = row * width;
+      for (int x = 0; x < width; x++) {
+        int state = grid.getType(base + x);
+        if (state == BURNING_STATE) {
+          state = EMPTY_STATE;
+        } else if (state == WOOD_STATE && burning[x] > 0
+            && CellFire.catches(grid, base + x, probCatch)) {
+          state = BURNING_STATE;
+        }
+        grid.setNextState(base + x, state);
+      }
+    }
+  }
+
+  /**
+   * tells whether rows are added with vector instructions
+   * return value: true if the kernel's RowCounter is vectorized
+   */
+  public boolean isVectorized() {
+    return counter.isVectorized();
+  }
+}
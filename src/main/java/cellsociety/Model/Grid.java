@@ -1,8 +1,13 @@
 package cellsociety.Model;
 
+import cellsociety.Controller.Boundary;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * Purpose: The purpose of this Java class is to define a Grid data structure and its associated
@@ -13,7 +18,8 @@ import java.util.Map;
  * <p>
  * Dependencies: This class depends on the Cell class to define the behavior of individual cells
  * within the grid, and it uses standard Java utility classes such as ArrayList and Map to manage
- * collections of cells and color mappings, respectively.
+ * collections of cells and color mappings, respectively. Cell states live in a StateStore owned by
+ * the grid; simulations stepped by a GridKernel run on the StateStore alone, without Cell objects.
  *
  * @author Jay Yoon, Ted Peterson
  */
@@ -23,13 +29,94 @@ public class Grid {
   private int height;
   public ArrayList<Cell> cells;
   private ArrayList<Cell> emptyCells;
-  private ArrayList<Cell> typeFilledCells;
+  private StateStore states;
+  private GridKernel kernel;
+  private ArrayList<ImmutableCell> cellViews;
+  private Map<Integer, String> colorMap = new HashMap<>();
+  private int gap = 2;
+  private ParallelStepper stepper;
+  private boolean synchronous;
+  private MoveArbiter arbiter;
+  private ActiveFrontier frontier;
+  private int stateCount;
+  private Boundary boundary = Boundary.CLIPPED_BOUNDARY;
+  private CounterRandom random = new CounterRandom(0);
+  private long generation;
+  private volatile VacancyIndex vacancies;
+  private AgentStore agents;
 
   public Grid(int width, int height) {
+    this(width, height, StateStore.BYTE_STATES);
+  }
+
+  public Grid(int width, int height, int stateCount) {
     cells = new ArrayList<>();
-    typeFilledCells = new ArrayList<>();
     this.width = width;
     this.height = height;
+    this.stateCount = stateCount;
+    this.states = StateStore.create(width * height, stateCount);
+  }
+
+  /**
+   * Purpose: Sets what neighbor tables see past the edges of the grid. A fixed boundary adds a
+   * ghost position width * height to the StateStore, holding the fixed state. Assumptions: called
+   * before cells are placed or a layout is loaded; kernels that create their own store do not keep
+   * the ghost position. Parameters: boundary - boundary topology, state - state of the fixed
+   * boundary. Exceptions: None Return value: None
+   *
+   * @param boundary
+   * @param state
+   */
+  public void setBoundary(Boundary boundary, int state) {
+    this.boundary = boundary;
+    int ghost = boundary == Boundary.FIXED_BOUNDARY ? 1 : 0;
+    this.states = StateStore.create(width * height + ghost, Math.max(stateCount, state + 1));
+    if (ghost > 0) {
+      states.set(width * height, state);
+    }
+  }
+
+  /**
+   * Purpose: Sets the seed every random draw of the simulation is keyed by, so a run can be
+   * replayed. Assumptions: called before cells are placed on the grid. Parameters: seed - seed of
+   * the simulation. Exceptions: None Return value: None
+   *
+   * @param seed
+   */
+  public void setSeed(long seed) {
+    this.random = new CounterRandom(seed);
+  }
+
+  /**
+   * Purpose: Returns the random numbers of the simulation. Assumptions: draws are keyed by
+   * getGeneration() and the position of the drawing cell. Parameters: None Exceptions: None Return
+   * value: CounterRandom keyed by the grid's seed
+   *
+   * @return
+   */
+  public CounterRandom getRandom() {
+    return this.random;
+  }
+
+  /**
+   * Purpose: Returns the number of the step being applied. Assumptions: None Parameters: None
+   * Exceptions: None Return value: 0 before the first step, then 1, 2, ... while each step's rules
+   * are applied
+   *
+   * @return
+   */
+  public long getGeneration() {
+    return this.generation;
+  }
+
+  /**
+   * Purpose: Returns the boundary topology of the grid. Assumptions: None Parameters: None
+   * Exceptions: None Return value: Boundary read by neighbor tables
+   *
+   * @return
+   */
+  public Boundary getBoundary() {
+    return this.boundary;
   }
 
   /**
@@ -41,18 +128,41 @@ public class Grid {
    */
   public void place(Cell c) {
     cells.add(c);
+    c.attach(states);
+  }
+
+  /**
+   * Purpose: Loads an initial layout straight into the StateStore and sets the kernel that steps
+   * it, so no Cell objects are created. Assumptions: layout holds width * height states in row
+   * order. Parameters: layout - initial cell states, kernel - rule applied every step. Exceptions:
+   * None Return value: None
+   *
+   * @param layout
+   * @param kernel
+   */
+  public void load(List<Integer> layout, GridKernel kernel) {
+    StateStore store = kernel.createStore(width, height);
+    if (store != null) {
+      states = store;
+    }
+    for (int i = 0; i < layout.size(); i++) {
+      states.set(i, layout.get(i));
+    }
+    this.kernel = kernel;
+    NeighborTable stencil = kernel.getStencil(this);
+    frontier = stencil == null ? null : new ActiveFrontier(stencil);
   }
 
   /**
-   * Purpose: Returns the index of the specified cell in the grid. Assumptions: The cell being
-   * searched for is already in the grid. Parameters: c - a Cell object whose index is being
-   * searched for. Exceptions: None Return value: The index of the specified cell.
+   * Purpose: Returns the index of the specified cell in the grid. Assumptions: The cell has been
+   * placed on the grid, so its index is its position. Parameters: c - a Cell object whose index is
+   * being searched for. Exceptions: None Return value: The index of the specified cell.
    *
    * @param c
    * @return
    */
   public int getIndex(Cell c) {
-    return cells.indexOf(c);
+    return c.getPosition();
   }
 
   /**
@@ -75,15 +185,24 @@ public class Grid {
    * @return
    */
   public int getSize() {
-    return this.cells.size();
+    return width * height;
   }
 
   /**
    * Purpose: Returns a collection of all cells in the grid as immutable cells. Assumptions: None
    * Parameters: None Exceptions: None Return value: A Collection of ImmutableCell objects
-   * representing all cells in the grid.
+   * representing all cells in the grid; lightweight views when the grid has no Cell objects.
    */
   public Collection<ImmutableCell> getCells() {
+    if (cells.isEmpty()) {
+      if (cellViews == null) {
+        cellViews = new ArrayList<>();
+        for (int i = 0; i < getSize(); i++) {
+          cellViews.add(new GridCellView(this, i));
+        }
+      }
+      return cellViews;
+    }
     ArrayList<ImmutableCell> cell = new ArrayList<>();
     for (Cell c : cells) {
       cell.add(c);
@@ -92,73 +211,255 @@ public class Grid {
   }
 
   /**
-   * Purpose: Returns a collection of all empty cells in the grid. Assumptions: None Parameters:
-   * None Exceptions: None Return value: A Collection of Cell objects representing all empty cells
-   * in the grid.
+   * Purpose: Returns a collection of all empty cells in the grid. Assumptions: cells that use
+   * claims get the cells that were empty when the current step started, collected once per step.
+   * Parameters: None Exceptions: None Return value: A Collection of Cell objects representing all
+   * empty cells in the grid.
    *
    * @return
    */
-  public Collection<Cell> getEmptyCells() {
-    emptyCells = new ArrayList<>();
-    for (Cell c : cells) {
-      if (c.getNextType() == 0) {
-        emptyCells.add(c);
+  public synchronized Collection<Cell> getEmptyCells() {
+    if (emptyCells == null || arbiter == null) {
+      emptyCells = new ArrayList<>();
+      for (Cell c : cells) {
+        if (c.getNextType() == 0) {
+          emptyCells.add(c);
+        }
       }
     }
     return this.emptyCells;
   }
 
   /**
-   * Purpose: Returns a collection of all cells that have been marked as "type filled". Assumptions:
-   * None Parameters: None Exceptions: None Return value: A Collection of Cell objects representing
-   * all cells that have been marked as "type filled".
+   * Purpose: Returns the empty cells agents can move into, as they were when the current step
+   * started. Assumptions: cells use claims. Grids with an ActiveFrontier keep the index up to date
+   * from the cells that changed, other grids collect it again on first use in each step.
+   * Parameters: None Exceptions: None Return value: VacancyIndex of positions in state 0
+   *
+   * @return
    */
-  public Collection<Cell> getTypeFillCells() {
-    return this.typeFilledCells;
+  public VacancyIndex getVacancies() {
+    VacancyIndex index = vacancies;
+    return index != null ? index : collectVacancies();
+  }
+
+  private synchronized VacancyIndex collectVacancies() {
+    if (vacancies == null) {
+      VacancyIndex index = new VacancyIndex(getSize());
+      for (int i = 0; i < getSize(); i++) {
+        if (states.get(i) == 0) {
+          index.add(i);
+        }
+      }
+      vacancies = index;
+    }
+    return vacancies;
   }
 
   /**
-   * urpose: Applies the rules of the simulation to each cell in the grid. Assumptions: None
-   * Parameters: None Exceptions: None Return value: None
+   * Purpose: Sets the store holding the agents of the simulation apart from its cells.
+   * Assumptions: called before neighbors are initiated, since cells register their agents then.
+   * Parameters: agents - AgentStore of the simulation. Exceptions: None Return value: None
+   *
+   * @param agents
    */
-  public void applyRules() {
-    for (Cell c : cells) {
-      c.apply(this, width, height);
-    }
+  public void setAgents(AgentStore agents) {
+    this.agents = agents;
   }
 
   /**
-   * Purpose: Sets the gap value for each cell in the grid. Assumptions: None Parameters: value - an
-   * integer representing the desired gap value. Exceptions: None Return value: None
+   * Purpose: Returns the store holding the agents of the simulation. Assumptions: None Parameters:
+   * None Exceptions: None Return value: AgentStore of the grid, null if agents live in their cells
    *
-   * @param value
+   * @return
    */
-  public void setGap(int value) {
-    for (Cell c : cells) {
-      c.setGap(value);
-    }
+  public AgentStore getAgents() {
+    return this.agents;
   }
 
   /**
-   * Purpose: Adds the specified cell to the collection of "type filled" cells. Assumptions: The
-   * cell being added is not already in the collection. Parameters: c - a Cell object to be added to
-   * the collection. Exceptions: None Return value: None
+   * Purpose: Sets how many threads apply rules and transition states. Only kernels and grids whose
+   * cells are all synchronous or all use claims run in parallel; results are the same as the
+   * sequential path. Assumptions: None Parameters: parallelism - number of worker threads, 1 for
+   * sequential. Exceptions: None Return value: None
    *
-   * @param c
+   * @param parallelism
    */
-  public void updateTypeFillCells(Cell c) {
-    typeFilledCells.add(c);
+  public void setParallelism(int parallelism) {
+    this.stepper = parallelism > 1 ? ParallelStepper.of(parallelism) : null;
+    states.setConcurrent(stepper != null && arbiter != null);
   }
 
   /**
-   * Purpose: Removes the specified cell from the collection of "type filled" cells. Assumptions:
-   * The cell being removed is in the collection. Parameters: c - a Cell object to be removed from
-   * the collection. Exceptions: None Return value: None
+   * Purpose: Returns the stepper splitting the grid's phases into bands, so kernels can run their
+   * own passes on the same threads. Assumptions: None Parameters: None Exceptions: None Return
+   * value: ParallelStepper of the grid, null if the grid steps sequentially
    *
-   * @param c
+   * @return
+   */
+  public ParallelStepper getStepper() {
+    return this.stepper;
+  }
+
+  /**
+   * Purpose: Returns the arbiter holding this step's move claims. Assumptions: cells of the grid
+   * use claims. Parameters: None Exceptions: None Return value: MoveArbiter of the grid, null if
+   * cells do not use claims
+   *
+   * @return
+   */
+  public MoveArbiter getArbiter() {
+    return this.arbiter;
+  }
+
+  /**
+   * Purpose: Returns the rule stepping the grid's states directly. Assumptions: None Parameters:
+   * None Exceptions: None Return value: GridKernel of the grid, null if the grid holds Cell objects
+   *
+   * @return
+   */
+  public GridKernel getKernel() {
+    return this.kernel;
+  }
+
+  /**
+   * Purpose: Returns the active set tracking which cells changed, with counts of evaluated and
+   * skipped cells. Assumptions: None Parameters: None Exceptions: None Return value: ActiveFrontier
+   * of the grid, null if every cell is evaluated every step
+   *
+   * @return
+   */
+  public ActiveFrontier getFrontier() {
+    return this.frontier;
+  }
+
+  /**
+   * Purpose: Runs an action on every cell whose state changed in the last update, so callers can
+   * redraw only those. Assumptions: kernels without a frontier swap arrays, so next states hold
+   * the previous step. Parameters: action - receives position of each changed cell; every
+   * position when the grid does not track changes. Exceptions: None Return value: None
+   *
+   * @param action
+   */
+  public void forEachChanged(IntConsumer action) {
+    if (frontier != null) {
+      frontier.forEachChanged(0, getSize(), action);
+      return;
+    }
+    for (int i = 0; i < getSize(); i++) {
+      if (kernel == null || states.get(i) != states.getNext(i)) {
+        action.accept(i);
+      }
+    }
+  }
+
+  /**
+   * urpose: Applies the rules of the simulation to each cell in the grid. Cells that use claims
+   * first claim their moves in apply, then write the moves they won in resolve. Grids with an
+   * ActiveFrontier only evaluate active cells, so agent grids only visit agents kept active and
+   * cells next to last step's moves. Assumptions: None Parameters: None Exceptions: None Return
+   * value: None
+   */
+  public void applyRules() {
+    generation++;
+    if (frontier != null) {
+      frontier.beginStep();
+    }
+    if (kernel != null) {
+      kernel.prepare(this);
+    }
+    if (frontier != null) {
+      if (arbiter != null) {
+        arbiter.nextGeneration();
+        forEachRow((fromRow, toRow) -> forEachActive(fromRow, toRow,
+            i -> cells.get(i).apply(this, width, height)));
+        forEachRow((fromRow, toRow) -> forEachActive(fromRow, toRow, this::resolveActive));
+        return;
+      }
+      forEachRow(this::applyActive);
+      return;
+    }
+    if (kernel != null) {
+      if (stepper != null) {
+        stepper.run(height, (fromRow, toRow) -> kernel.apply(this, fromRow, toRow));
+      } else {
+        kernel.apply(this, 0, height);
+      }
+      return;
+    }
+    if (arbiter != null) {
+      arbiter.nextGeneration();
+      emptyCells = null;
+      vacancies = null;
+      forEachCell(c -> c.apply(this, width, height));
+      forEachCell(c -> c.resolve(this, arbiter));
+      return;
+    }
+    forEachCell(c -> c.apply(this, width, height));
+  }
+
+  private void applyActive(int fromRow, int toRow) {
+    frontier.forEachActive(fromRow * width, Math.min(toRow * width, getSize()), i -> {
+      if (kernel != null) {
+        kernel.apply(this, i);
+      } else {
+        cells.get(i).apply(this, width, height);
+      }
+      if (states.getNext(i) != states.get(i)) {
+        frontier.markChanged(i);
+      }
+    });
+  }
+
+  // moves into cells that were not active are marked by setNextState
+  private void resolveActive(int i) {
+    cells.get(i).resolve(this, arbiter);
+    if (states.getNext(i) != states.get(i)) {
+      frontier.markChanged(i);
+    }
+  }
+
+  private void forEachActive(int fromRow, int toRow, IntConsumer action) {
+    frontier.forEachActive(fromRow * width, Math.min(toRow * width, getSize()), action);
+  }
+
+  private void forEachRow(ParallelStepper.BandAction action) {
+    if (stepper != null) {
+      stepper.run(height, action);
+    } else {
+      action.run(0, height);
+    }
+  }
+
+  private void forEachCell(Consumer<Cell> action) {
+    if (!parallelCells()) {
+      for (Cell c : cells) {
+        action.accept(c);
+      }
+      return;
+    }
+    stepper.run(height, (fromRow, toRow) -> {
+      for (int i = fromRow * width; i < Math.min(toRow * width, cells.size()); i++) {
+        action.accept(cells.get(i));
+      }
+    });
+  }
+
+  private boolean parallelCells() {
+    return stepper != null && (synchronous || arbiter != null);
+  }
+
+  /**
+   * Purpose: Sets the gap value for each cell in the grid. Assumptions: None Parameters: value - an
+   * integer representing the desired gap value. Exceptions: None Return value: None
+   *
+   * @param value
    */
-  public void removeTypeFillCell(Cell c) {
-    typeFilledCells.remove(c);
+  public void setGap(int value) {
+    this.gap = value;
+    for (Cell c : cells) {
+      c.setGap(value);
+    }
   }
 
   /**
@@ -166,9 +467,26 @@ public class Grid {
    * None Exceptions: None Return value: None
    */
   public void initiateNeighbors() {
+    synchronous = !cells.isEmpty();
+    boolean claims = !cells.isEmpty();
     for (Cell c : cells) {
       c.setNeighbors(this, width, height);
+      synchronous &= c.isSynchronous();
+      claims &= c.usesClaims();
+    }
+    arbiter = claims ? new MoveArbiter(getSize(), random) : null;
+    frontier = synchronous || arbiter != null ? sharedFrontier() : null;
+    states.setConcurrent(stepper != null && arbiter != null);
+  }
+
+  private ActiveFrontier sharedFrontier() {
+    NeighborTable table = cells.get(0).getNeighborTable();
+    for (Cell c : cells) {
+      if (!c.skipsWhenUnchanged() || c.getNeighborTable() != table) {
+        return null;
+      }
     }
+    return table == null ? null : new ActiveFrontier(table);
   }
 
   /**
@@ -179,16 +497,144 @@ public class Grid {
    * @param colorMap
    */
   public void update(Map<Integer, String> colorMap) {
+    this.colorMap = colorMap;
+    if (agents != null) {
+      agents.endStep();
+    }
+    if (frontier != null) {
+      forEachRow(this::updateChanged);
+      if (arbiter != null && vacancies != null) {
+        frontier.forEachChanged(0, getSize(), this::trackVacancy);
+      }
+      frontier.endStep();
+      return;
+    }
+    if (kernel != null) {
+      states.swap();
+      return;
+    }
+    if (parallelCells()) {
+      stepper.run(height, this::update);
+      return;
+    }
+    states.commit();
     for (Cell c : cells) {
-      c.transitionState();
       c.transitionColor(colorMap.get(c.getType()));
     }
   }
 
+  private void update(int fromRow, int toRow) {
+    int to = Math.min(toRow * width, cells.size());
+    states.commit(fromRow * width, to);
+    for (int i = fromRow * width; i < to; i++) {
+      Cell c = cells.get(i);
+      c.transitionColor(colorMap.get(c.getType()));
+    }
+  }
+
+  private void trackVacancy(int i) {
+    if (states.get(i) == 0) {
+      vacancies.add(i);
+    } else {
+      vacancies.remove(i);
+    }
+  }
+
+  private void updateChanged(int fromRow, int toRow) {
+    frontier.forEachChanged(fromRow * width, Math.min(toRow * width, getSize()), i -> {
+      states.commit(i, i + 1);
+      if (kernel == null) {
+        cells.get(i).transitionColor(colorMap.get(states.get(i)));
+      }
+    });
+  }
+
+  /**
+   * Purpose: Sets the colors used by cell views before the first update. Assumptions: None
+   * Parameters: colorMap - cell types mapped to hex color codes. Exceptions: None Return: None
+   *
+   * @param colorMap
+   */
+  public void setColorMap(Map<Integer, String> colorMap) {
+    this.colorMap = colorMap;
+  }
+
+  /**
+   * Purpose: Returns the color of a cell type. Assumptions: None Parameters: type - cell state.
+   * Exceptions: None Return: hex color code of the type
+   *
+   * @param type
+   * @return
+   */
+  public String getColor(int type) {
+    return colorMap.get(type);
+  }
+
+  /**
+   * Purpose: Returns the current state of the cell at a position. Assumptions: position is within
+   * the grid. Parameters: index - position of cell. Exceptions: None Return: current cell state
+   *
+   * @param index
+   * @return
+   */
+  public int getType(int index) {
+    return states.get(index);
+  }
+
+  /**
+   * Purpose: Returns the next state of the cell at a position. Assumptions: position is within the
+   * grid. Parameters: index - position of cell. Exceptions: None Return: next cell state
+   *
+   * @param index
+   * @return
+   */
+  public int getNextType(int index) {
+    return states.getNext(index);
+  }
+
+  /**
+   * Purpose: Sets the next state of the cell at a position. Agent grids with an ActiveFrontier
+   * record the change, so the cell an agent moves into is committed and its neighbors evaluated
+   * next step. Assumptions: position is within the grid. Parameters: index - position of cell,
+   * state - next state. Exceptions: None Return: None
+   *
+   * @param index
+   * @param state
+   */
+  public void setNextState(int index, int state) {
+    states.setNext(index, state);
+    if (arbiter != null && frontier != null && state != states.get(index)) {
+      frontier.markChanged(index);
+    }
+  }
+
   /**
    * Purpose: Return grid Width Assumptions: None Parameters: None Exceptions: None Return: None
    */
   public int getWidth() {
     return this.width;
   }
+
+  /**
+   * Purpose: Return grid Height Assumptions: None Parameters: None Exceptions: None Return: None
+   */
+  public int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Purpose: Return gap between cells Assumptions: None Parameters: None Exceptions: None Return:
+   * None
+   */
+  public int getGap() {
+    return this.gap;
+  }
+
+  /**
+   * Purpose: Return display size of a cell Assumptions: None Parameters: None Exceptions: None
+   * Return: None
+   */
+  public double getCellSize() {
+    return Cell.defaultSize(width);
+  }
 }
@@ -0,0 +1,47 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: ImmutableCell handed to the view for Grids that run without Cell objects. It only
+ * remembers its position and reads everything else from the Grid.
+ * <p>
+ * Assumptions: rectangular cells laid out row by row, matching Cell coordinates
+ * <p>
+ * Dependencies: Grid
+ *
+ * @author Jay Yoon
+ */
+public class GridCellView implements ImmutableCell {
+
+  private final Grid grid;
+  private final int position;
+
+  public GridCellView(Grid grid, int position) {
+    this.grid = grid;
+    this.position = position;
+  }
+
+  @Override
+  public double getSize() {
+    return grid.getCellSize();
+  }
+
+  @Override
+  public String getColor() {
+    return grid.getColor(getType());
+  }
+
+  @Override
+  public double getXCoordinate() {
+    return (grid.getGap() + getSize()) * (position % grid.getWidth());
+  }
+
+  @Override
+  public double getYCoordinate() {
+    return (grid.getGap() + getSize()) * (position / grid.getWidth());
+  }
+
+  @Override
+  public int getType() {
+    return grid.getType(position);
+  }
+}
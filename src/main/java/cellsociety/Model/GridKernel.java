@@ -0,0 +1,62 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: rule that steps a whole Grid directly over its StateStore, for simulations that do not
+ * need a Cell object per site.
+ * <p>
+ * Assumptions: apply writes the next state of every cell, so the Grid may swap the current and
+ * next arrays afterwards instead of copying them.
+ * <p>
+ * Dependencies: Grid, StateStore
+ *
+ * @author Jay Yoon
+ */
+public interface GridKernel {
+
+  /**
+   * runs once per step before rows are applied, for work that cannot be split into bands. When the
+   * Grid tracks changes, the step's frontier has already begun, so next states written here can
+   * be marked changed.
+   * parameter: Grid to be stepped
+   */
+  default void prepare(Grid grid) {
+  }
+
+  /**
+   * computes next state of every cell in rows fromRow (inclusive) to toRow (exclusive) from
+   * current states. Rows may be handed to different threads, so only cells inside the range may be
+   * written.
+   * parameter: Grid to be stepped, range of rows
+   */
+  void apply(Grid grid, int fromRow, int toRow);
+
+  /**
+   * creates the store the kernel steps, for kernels that need a particular layout of states
+   * parameter: width and height of grid
+   * return value: StateStore to replace the Grid's store, null to keep it
+   */
+  default StateStore createStore(int width, int height) {
+    return null;
+  }
+
+  /**
+   * computes next state of a single cell, used when the Grid only evaluates active cells. The
+   * default applies the whole row of the cell, which is correct since cells of the row that are
+   * not active keep their state, but costs a row per cell; kernels with a stencil override it.
+   * parameter: Grid to be stepped, position of cell
+   */
+  default void apply(Grid grid, int index) {
+    int row = index / grid.getWidth();
+    apply(grid, row, row + 1);
+  }
+
+  /**
+   * gets the neighbors the rule reads, if a cell whose neighbors did not change keeps its state.
+   * The Grid then only evaluates cells next to last step's changes through apply(grid, index).
+   * parameter: Grid to be stepped
+   * return value: NeighborTable of the rule, null if every cell must be evaluated every step
+   */
+  default NeighborTable getStencil(Grid grid) {
+    return null;
+  }
+}
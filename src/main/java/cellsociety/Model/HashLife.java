@@ -0,0 +1,368 @@
+package cellsociety.Model;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Purpose: unbounded Game of Life universe stored as a canonical quadtree (HashLife). Identical
+ * subtrees are shared, and the future of every subtree is memoized, so repetitive patterns such as
+ * guns and breeders can be advanced 2^k generations in one call.
+ * <p>
+ * Assumptions: the plane is unbounded and dead outside the pattern; nothing is clipped at the edges
+ * of the grid the pattern was loaded from. The memo holds at most a fixed number of results and
+ * evicts the least recently used one when full. When the node table grows past a multiple of that
+ * capacity, nodes no longer reachable from the universe are dropped together with the memo.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class HashLife {
+
+  // a step of 2^step generations builds nodes of level step + 2, whose side 2^level fits a long
+  public static final int MAX_STEP = Long.SIZE - 3;
+  private static final int MIN_LEVEL = 3;
+  private static final int NODES_PER_RESULT = 4;
+  private static final Node DEAD = new Node(0, 0);
+  private static final Node ALIVE = new Node(0, 1);
+
+  private final int capacity;
+  private Map<Node, Node> nodes = new HashMap<>();
+  private final Map<Memo, Node> memo;
+  private final Map<Integer, Node> empty = new HashMap<>();
+  private Node root;
+  private long originX;
+  private long originY;
+  private long generation;
+  private long hits;
+  private long misses;
+
+  /**
+   * memo cache statistics
+   * parameter: results held, maximum results held, lookups answered from and missing the memo,
+   * canonical nodes alive
+   */
+  public record CacheStats(int size, int capacity, long hits, long misses, int nodes) {
+
+    /**
+     * gets share of successor lookups answered from the memo
+     * return value: double value between 0 and 1
+     */
+    public double hitRate() {
+      return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+  }
+
+  /**
+   * receives live cells of a rendered region
+   */
+  public interface CellVisitor {
+
+    /**
+     * called once per live cell
+     * parameter: row and column of cell inside the region
+     */
+    void visit(int row, int col);
+  }
+
+  private record Memo(Node node, int step) {
+
+  }
+
+  private static final class Node {
+
+    private final Node nw;
+    private final Node ne;
+    private final Node sw;
+    private final Node se;
+    private final int level;
+    private final long population;
+    private final int hash;
+
+    private Node(int level, long population) {
+      this.nw = null;
+      this.ne = null;
+      this.sw = null;
+      this.se = null;
+      this.level = level;
+      this.population = population;
+      this.hash = (int) population;
+    }
+
+    private Node(Node nw, Node ne, Node sw, Node se) {
+      this.nw = nw;
+      this.ne = ne;
+      this.sw = sw;
+      this.se = se;
+      this.level = nw.level + 1;
+      this.population = nw.population + ne.population + sw.population + se.population;
+      int h = System.identityHashCode(nw);
+      h = h * 31 + System.identityHashCode(ne);
+      h = h * 31 + System.identityHashCode(sw);
+      this.hash = h * 31 + System.identityHashCode(se);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof Node n && n.nw == nw && n.ne == ne && n.sw == sw && n.se == se
+          && n.level == level && n.population == population;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  public HashLife(int capacity) {
+    this.capacity = capacity;
+    this.memo = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Memo, Node> eldest) {
+        return size() > HashLife.this.capacity;
+      }
+    };
+    this.root = empty(MIN_LEVEL);
+  }
+
+  /**
+   * replaces universe by a rectangular layout centered on the origin
+   * parameter: width and height of layout, state of each cell in row order (non-zero is alive)
+   */
+  public void load(int width, int height, StateStore states) {
+    int level = MIN_LEVEL;
+    while ((1L << (level - 1)) < Math.max(width, height)) {
+      level++;
+    }
+    long half = 1L << (level - 1);
+    originX = width / 2;
+    originY = height / 2;
+    root = build(level, -half, -half, width, height, states);
+    generation = 0;
+  }
+
+  private Node build(int level, long x, long y, int width, int height, StateStore states) {
+    long size = 1L << level;
+    long left = x + width / 2;
+    long top = y + height / 2;
+    if (left >= width || top >= height || left + size <= 0 || top + size <= 0) {
+      return empty(level);
+    }
+    if (level == 0) {
+      return states.get((int) (top * width + left)) == 0 ? DEAD : ALIVE;
+    }
+    long half = size >> 1;
+    return join(build(level - 1, x, y, width, height, states),
+        build(level - 1, x + half, y, width, height, states),
+        build(level - 1, x, y + half, width, height, states),
+        build(level - 1, x + half, y + half, width, height, states));
+  }
+
+  /**
+   * advances universe by 2^step generations
+   * parameter: base 2 logarithm of number of generations
+   * exception: IllegalArgumentException if step is negative or above MAX_STEP
+   */
+  public void advance(int step) {
+    if (step < 0 || step > MAX_STEP) {
+      throw new IllegalArgumentException("step must be between 0 and " + MAX_STEP + ": " + step);
+    }
+    while (root.level < step + 2) {
+      root = pad(root);
+    }
+    root = successor(pad(pad(root)), step);
+    generation += 1L << step;
+    crop();
+    if (nodes.size() > NODES_PER_RESULT * capacity) {
+      collect();
+    }
+  }
+
+  /**
+   * visits live cells of a window of the plane, skipping empty subtrees
+   * parameter: column and row of window's top-left corner relative to the layout's top-left
+   * corner, size of window, visitor receiving live cells relative to the window
+   */
+  public void render(long left, long top, int width, int height, CellVisitor visitor) {
+    long half = 1L << (root.level - 1);
+    render(root, originX - half - left, originY - half - top, width, height, visitor);
+  }
+
+  private void render(Node node, long x, long y, int width, int height, CellVisitor visitor) {
+    long size = 1L << node.level;
+    if (node.population == 0 || x >= width || y >= height || x + size <= 0 || y + size <= 0) {
+      return;
+    }
+    if (node.level == 0) {
+      visitor.visit((int) y, (int) x);
+      return;
+    }
+    long half = size >> 1;
+    render(node.nw, x, y, width, height, visitor);
+    render(node.ne, x + half, y, width, height, visitor);
+    render(node.sw, x, y + half, width, height, visitor);
+    render(node.se, x + half, y + half, width, height, visitor);
+  }
+
+  /**
+   * gets number of generations advanced since loading
+   * return value: long value representing generation
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * gets number of live cells in the whole universe
+   * return value: long value representing population
+   */
+  public long getPopulation() {
+    return root.population;
+  }
+
+  /**
+   * gets memo cache statistics, to tune capacity against heap usage
+   * return value: CacheStats of universe
+   */
+  public CacheStats getCacheStats() {
+    return new CacheStats(memo.size(), capacity, hits, misses, nodes.size());
+  }
+
+  private Node successor(Node node, int step) {
+    Memo key = new Memo(node, step);
+    Node result = memo.get(key);
+    if (result != null) {
+      hits++;
+      return result;
+    }
+    misses++;
+    if (node.population == 0) {
+      result = empty(node.level - 1);
+    } else if (node.level == 2) {
+      result = lifeFourByFour(node);
+    } else if (step < node.level - 2) {
+      result = slowSuccessor(node, step);
+    } else {
+      result = fastSuccessor(node, step);
+    }
+    memo.put(key, result);
+    return result;
+  }
+
+  // nine overlapping subnodes, advanced 2^(level - 3) generations, then the four combinations again
+  private Node fastSuccessor(Node n, int step) {
+    int inner = step - 1;
+    Node c1 = successor(n.nw, inner);
+    Node c2 = successor(join(n.nw.ne, n.ne.nw, n.nw.se, n.ne.sw), inner);
+    Node c3 = successor(n.ne, inner);
+    Node c4 = successor(join(n.nw.sw, n.nw.se, n.sw.nw, n.sw.ne), inner);
+    Node c5 = successor(center(n), inner);
+    Node c6 = successor(join(n.ne.sw, n.ne.se, n.se.nw, n.se.ne), inner);
+    Node c7 = successor(n.sw, inner);
+    Node c8 = successor(join(n.sw.ne, n.se.nw, n.sw.se, n.se.sw), inner);
+    Node c9 = successor(n.se, inner);
+    return join(successor(join(c1, c2, c4, c5), inner), successor(join(c2, c3, c5, c6), inner),
+        successor(join(c4, c5, c7, c8), inner), successor(join(c5, c6, c8, c9), inner));
+  }
+
+  // nine overlapping subnodes cut without advancing, then the four combinations advanced 2^step
+  private Node slowSuccessor(Node n, int step) {
+    Node c1 = center(n.nw);
+    Node c2 = join(n.nw.ne.se, n.ne.nw.sw, n.nw.se.ne, n.ne.sw.nw);
+    Node c3 = center(n.ne);
+    Node c4 = join(n.nw.sw.se, n.nw.se.sw, n.sw.nw.ne, n.sw.ne.nw);
+    Node c5 = center(center(n));
+    Node c6 = join(n.ne.sw.se, n.ne.se.sw, n.se.nw.ne, n.se.ne.nw);
+    Node c7 = center(n.sw);
+    Node c8 = join(n.sw.ne.se, n.se.nw.sw, n.sw.se.ne, n.se.sw.nw);
+    Node c9 = center(n.se);
+    return join(successor(join(c1, c2, c4, c5), step), successor(join(c2, c3, c5, c6), step),
+        successor(join(c4, c5, c7, c8), step), successor(join(c5, c6, c8, c9), step));
+  }
+
+  // one generation of the central 2x2 cells of a 4x4 node
+  private Node lifeFourByFour(Node n) {
+    int bits = 0;
+    Node[] quadrants = {n.nw, n.ne, n.sw, n.se};
+    for (int q = 0; q < quadrants.length; q++) {
+      Node[] cells = {quadrants[q].nw, quadrants[q].ne, quadrants[q].sw, quadrants[q].se};
+      for (int c = 0; c < cells.length; c++) {
+        int row = (q >> 1) * 2 + (c >> 1);
+        int col = (q & 1) * 2 + (c & 1);
+        bits |= (int) cells[c].population << (row * 4 + col);
+      }
+    }
+    return join(lifeCell(bits, 1, 1), lifeCell(bits, 1, 2), lifeCell(bits, 2, 1),
+        lifeCell(bits, 2, 2));
+  }
+
+  private static Node lifeCell(int bits, int row, int col) {
+    int alive = 0;
+    for (int r = row - 1; r <= row + 1; r++) {
+      for (int c = col - 1; c <= col + 1; c++) {
+        if (r != row || c != col) {
+          alive += (bits >> (r * 4 + c)) & 1;
+        }
+      }
+    }
+    boolean self = ((bits >> (row * 4 + col)) & 1) == 1;
+    return alive == 3 || (alive == 2 && self) ? ALIVE : DEAD;
+  }
+
+  private Node center(Node n) {
+    return join(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw);
+  }
+
+  // surrounds a node with an empty border, keeping it centered on the origin
+  private Node pad(Node n) {
+    Node border = empty(n.level - 1);
+    return join(join(border, border, border, n.nw), join(border, border, n.ne, border),
+        join(border, n.sw, border, border), join(n.se, border, border, border));
+  }
+
+  private void crop() {
+    while (root.level > MIN_LEVEL && center(root).population == root.population) {
+      root = center(root);
+    }
+  }
+
+  private Node empty(int level) {
+    Node node = empty.get(level);
+    if (node == null) {
+      node = level == 0 ? DEAD : join(empty(level - 1), empty(level - 1), empty(level - 1),
+          empty(level - 1));
+      empty.put(level, node);
+    }
+    return node;
+  }
+
+  private Node join(Node nw, Node ne, Node sw, Node se) {
+    Node node = new Node(nw, ne, sw, se);
+    Node canonical = nodes.putIfAbsent(node, node);
+    return canonical == null ? node : canonical;
+  }
+
+  // keeps only nodes reachable from root, memo results refer to dropped nodes
+  private void collect() {
+    Map<Node, Node> copies = new IdentityHashMap<>();
+    nodes = new HashMap<>();
+    memo.clear();
+    empty.clear();
+    root = copy(root, copies);
+  }
+
+  private Node copy(Node node, Map<Node, Node> copies) {
+    if (node.level == 0) {
+      return node;
+    }
+    Node copied = copies.get(node);
+    if (copied == null) {
+      copied = join(copy(node.nw, copies), copy(node.ne, copies), copy(node.sw, copies),
+          copy(node.se, copies));
+      copies.put(node, copied);
+    }
+    return copied;
+  }
+}
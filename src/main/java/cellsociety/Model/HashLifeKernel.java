@@ -0,0 +1,79 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: Game of Life rule backed by a HashLife universe. Each step advances the universe 2^jump
+ * generations at once, then only the part of the plane covered by the Grid is rendered into the
+ * Grid's states for the view.
+ * <p>
+ * Assumptions: unlike the other Conway rules, the plane is unbounded: patterns leaving the Grid
+ * keep evolving outside it and may come back. A kernel steps the grid whose store it created, so
+ * each grid needs its own kernel.
+ * <p>
+ * Dependencies: GridKernel, HashLife, BitStateStore
+ *
+ * @author Jay Yoon
+ */
+public class HashLifeKernel implements GridKernel {
+
+  public static final int DEFAULT_CACHE_CAPACITY = 1 << 20;
+  private final HashLife universe;
+  private final int jump;
+  private BitStateStore store;
+  private boolean loaded;
+
+  public HashLifeKernel(int jump) {
+    this(jump, DEFAULT_CACHE_CAPACITY);
+  }
+
+  public HashLifeKernel(int jump, int cacheCapacity) {
+    this.jump = jump;
+    this.universe = new HashLife(cacheCapacity);
+  }
+
+  /**
+   * creates bit-packed store the visible region is rendered into
+   * parameter: width and height of grid
+   * return value: BitStateStore of grid
+   */
+  @Override
+  public StateStore createStore(int width, int height) {
+    store = new BitStateStore(width, height);
+    return store;
+  }
+
+  /**
+   * loads the grid's layout on the first step, then advances the universe 2^jump generations
+   * parameter: Grid to be stepped
+   */
+  @Override
+  public void prepare(Grid grid) {
+    if (!loaded) {
+      universe.load(grid.getWidth(), grid.getHeight(), store);
+      loaded = true;
+    }
+    universe.advance(jump);
+  }
+
+  /**
+   * renders the universe into next states of a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    long[] next = store.getNextWords();
+    int stride = store.getWordsPerRow();
+    Arrays.fill(next, fromRow * stride, toRow * stride, 0);
+    universe.render(0, fromRow, grid.getWidth(), toRow - fromRow, (row, col) ->
+        next[(fromRow + row) * stride + (col >> 6)] |= 1L << col);
+  }
+
+  /**
+   * gets universe stepped by kernel, for its generation count and memo statistics
+   * return value: HashLife universe
+   */
+  public HashLife getUniverse() {
+    return universe;
+  }
+}
@@ -7,7 +7,8 @@ import cellsociety.Controller.CellShape;
  * It overrides rectangular Moore 8-neighborhood to hexagonal Moore standard 6-neighborhood
  * It overrides setting X and Y coordinates to be placed on grid using offset
  *
- * Assumptions: hexagonal version of Conway applies the same set of rules
+ * Assumptions: hexagonal version of Conway applies the same set of rules, or the Life-like rule it
+ * was given
  *
  * Dependencies: Extends standard CellConway and Cell abstract class
  *
@@ -21,8 +22,13 @@ public class HexCellConway extends CellConway {
     super(type, color, pos, width);
   }
 
+  public HexCellConway(int type, String color, int pos, int width, LifeRule rule) {
+    super(type, color, pos, width, rule);
+  }
+
   /**
-   * Purpose: Sets the neighbors of the cell based on hexagonal version of standard Moore.
+   * Purpose: Sets the neighbors of the cell to the shared hexagonal NeighborTable of the rule's
+   * neighborhood.
    * <p>
    * Assumptions: It assumes neighborhood cells of six.
    * <p>
@@ -37,21 +43,20 @@ public class HexCellConway extends CellConway {
 
   @Override
   public void setNeighbors(Grid grid, int width, int height) {
-    Neighborhood n = new HexNeighborhood();
-    neighbors = n.standardMoore(grid, width, height, this);
+    neighborTable = NeighborTable.of(CellShape.HEX_CELL, getRule().kind(), grid);
   }
 
   /**
-   * sets y-position of hexagonal cell to reflect offset on grid display
+   * gets y-position of hexagonal cell to reflect offset on grid display
+   * return value: double value representing y-position
    */
   @Override
-  public void setYPosition() {
+  public double getYCoordinate() {
     double offset = this.getSize() * Y_OFFSET_FACTOR;
     double position = (this.getGap() + this.getSize()) * this.getRow();
     if (this.getCol() % 2 == 1) {
-      setYCoordinate(position + offset);
-    } else {
-      setYCoordinate(position);
+      return position + offset;
     }
+    return position;
   }
 }
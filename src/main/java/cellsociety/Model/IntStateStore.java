@@ -0,0 +1,56 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: StateStore keeping one int per cell, fallback for configurations with more than 256
+ * states.
+ * <p>
+ * Assumptions: None
+ * <p>
+ * Dependencies: extends StateStore
+ *
+ * @author Jay Yoon
+ */
+public class IntStateStore extends StateStore {
+
+  private int[] current;
+  private int[] next;
+
+  public IntStateStore(int size) {
+    super(size);
+    current = new int[size];
+    next = new int[size];
+  }
+
+  @Override
+  public int get(int index) {
+    return current[index];
+  }
+
+  @Override
+  public int getNext(int index) {
+    return next[index];
+  }
+
+  @Override
+  public void set(int index, int state) {
+    current[index] = state;
+    next[index] = state;
+  }
+
+  @Override
+  public void setNext(int index, int state) {
+    next[index] = state;
+  }
+
+  @Override
+  public void swap() {
+    int[] temp = current;
+    current = next;
+    next = temp;
+  }
+
+  @Override
+  public void commit(int from, int to) {
+    System.arraycopy(next, from, current, from, to - from);
+  }
+}
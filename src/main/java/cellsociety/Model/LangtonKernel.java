@@ -0,0 +1,100 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.CellShape;
+
+/**
+ * Purpose: steps Langton's loops, or any other LangtonRule, directly over the Grid's StateStore.
+ * The next state of a cell is one read of the rule's lookup table at the code of its von Neumann
+ * neighborhood, and since a cell whose neighborhood did not change keeps its state, the Grid only
+ * evaluates cells next to last step's changes: the quiescent background costs nothing, and a step
+ * costs time in proportion to the loops' active cells however far the colony has grown.
+ * <p>
+ * Assumptions: the grid's states are states of the rule. Neighbors follow the grid's boundary, and
+ * a neighbor past a clipped edge reads as the quiescent state 0, so loops reaching the edge of the
+ * grid stop growing there.
+ * <p>
+ * Dependencies: GridKernel, Grid, LangtonRule, NeighborTable
+ *
+ * @author Jay Yoon
+ */
+public class LangtonKernel implements GridKernel {
+
+  private static final int QUIESCENT_STATE = 0;
+  private static final int SIDES = 4;
+  private final LangtonRule rule;
+  // padded table listing exactly north, east, south and west of every cell
+  private NeighborTable neighbors;
+  private Grid tableGrid;
+
+  public LangtonKernel() {
+    this(LangtonRule.langton());
+  }
+
+  public LangtonKernel(LangtonRule rule) {
+    this.rule = rule;
+  }
+
+  /**
+   * builds the grid's table of north, east, south and west neighbors before the step's bands run,
+   * so worker threads only read it
+   * parameter: Grid to be stepped
+   */
+  @Override
+  public void prepare(Grid grid) {
+    if (tableGrid != grid) {
+      neighbors = NeighborTable.padded(CellShape.STANDARD_CELL, NeighborhoodKind.VON_NEUMANN,
+          grid);
+      tableGrid = grid;
+    }
+  }
+
+  /**
+   * applies the rule to every cell in a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    int[] list = neighbors.getNeighbors();
+    for (int i = fromRow * grid.getWidth(); i < toRow * grid.getWidth(); i++) {
+      apply(grid, list, i);
+    }
+  }
+
+  /**
+   * applies the rule to a single cell
+   * parameter: Grid to be stepped, position of cell
+   */
+  @Override
+  public void apply(Grid grid, int index) {
+    apply(grid, neighbors.getNeighbors(), index);
+  }
+
+  /**
+   * the rule only reads a cell and its von Neumann neighbors
+   * parameter: Grid to be stepped
+   * return value: von Neumann NeighborTable of the grid
+   */
+  @Override
+  public NeighborTable getStencil(Grid grid) {
+    return NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.VON_NEUMANN, grid);
+  }
+
+  /**
+   * gets rule the kernel applies
+   * return value: LangtonRule of kernel
+   */
+  public LangtonRule getRule() {
+    return rule;
+  }
+
+  private void apply(Grid grid, int[] list, int index) {
+    int k = index * SIDES;
+    grid.setNextState(index, rule.next(LangtonRule.code(grid.getType(index),
+        state(grid, list[k]), state(grid, list[k + 1]), state(grid, list[k + 2]),
+        state(grid, list[k + 3]))));
+  }
+
+  private int state(Grid grid, int neighbor) {
+    return neighbor == NeighborTable.MISSING ? QUIESCENT_STATE : grid.getType(neighbor);
+  }
+}
@@ -0,0 +1,120 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: rule of an 8-state von Neumann automaton given as a transition table, such as Langton's
+ * self-reproducing loops. Each entry gives the next state of a cell from its own state and those
+ * of its north, east, south and west neighbors, and holds for the four rotations of that
+ * neighborhood. The entries are expanded once into a lookup table indexed by the five states, so
+ * the next state of a cell costs a single array read.
+ * <p>
+ * Assumptions: an entry is written as six digits CNESWR: center, north, east, south and west
+ * states, then the next state. A neighborhood no entry or rotation of an entry covers keeps the
+ * center's state. Langton's table is the 219 entries of his 1984 paper, in which state 0 is the
+ * quiescent background, 1 the core, 2 the sheath and 3 to 7 the signals of the loop's gene.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class LangtonRule {
+
+  public static final int STATES = 8;
+  private static final int STATE_BITS = 3;
+  private static final int SIDES = 4;
+  private static final int ENTRY_LENGTH = SIDES + 2;
+  private static final String[] LANGTON_TABLE = {
+      "000000 000012 000020 000030 000050 000063 000071 000112 000122 000132",
+      "000212 000220 000230 000262 000272 000320 000525 000622 000722 001022",
+      "001120 002020 002030 002050 002125 002220 002322 005222 012321 012421",
+      "012525 012621 012721 012751 014221 014321 014421 014721 016251 017221",
+      "017255 017521 017621 017721 025271 100011 100061 100077 100111 100121",
+      "100211 100244 100277 100511 101011 101111 101244 101277 102026 102121",
+      "102211 102244 102263 102277 102327 102424 102626 102644 102677 102710",
+      "102727 105427 111121 111221 111244 111251 111261 111277 111522 112121",
+      "112221 112244 112251 112277 112321 112424 112621 112727 113221 122244",
+      "122277 122434 122547 123244 123277 124255 124267 125275 200012 200022",
+      "200042 200071 200122 200152 200212 200222 200232 200242 200250 200262",
+      "200272 200326 200423 200517 200522 200575 200722 201022 201122 201222",
+      "201422 201722 202022 202032 202052 202073 202122 202152 202212 202222",
+      "202272 202321 202422 202452 202520 202552 202622 202722 203122 203216",
+      "203226 203422 204222 205122 205212 205222 205521 205725 206222 206722",
+      "207122 207222 207422 207722 211222 211261 212222 212242 212262 212272",
+      "214222 215222 216222 217222 222272 222442 222462 222762 222772 300013",
+      "300022 300041 300076 300123 300421 300622 301021 301220 302511 401120",
+      "401220 401250 402120 402221 402326 402520 403221 500022 500215 500225",
+      "500232 500272 500520 502022 502122 502152 502220 502244 502722 512122",
+      "512220 512422 512722 600011 600021 602120 612125 612131 612225 700077",
+      "701120 701220 701250 702120 702221 702251 702321 702525 702720"
+  };
+  private static final LangtonRule LANGTON = new LangtonRule(LANGTON_TABLE);
+  // table[code(c, n, e, s, w)] is the next state of the center
+  private final byte[] table = new byte[1 << (STATE_BITS * (SIDES + 1))];
+
+  /**
+   * expands a transition table with its rotations
+   * parameter: lines of entries CNESWR separated by spaces
+   * exception: IllegalArgumentException if an entry is malformed or a rotation of it contradicts
+   * another entry
+   */
+  public LangtonRule(String[] lines) {
+    for (int code = 0; code < table.length; code++) {
+      table[code] = (byte) (code >> (STATE_BITS * SIDES));
+    }
+    boolean[] listed = new boolean[table.length];
+    for (String line : lines) {
+      for (String entry : line.trim().split("\\s+")) {
+        add(entry, listed);
+      }
+    }
+  }
+
+  /**
+   * gets Langton's self-reproducing loop rule
+   * return value: shared LangtonRule of Langton's 219 entries
+   */
+  public static LangtonRule langton() {
+    return LANGTON;
+  }
+
+  /**
+   * packs a von Neumann neighborhood into an index of the lookup table
+   * parameter: states of center, north, east, south and west cells
+   * return value: int value representing code of neighborhood
+   */
+  public static int code(int center, int north, int east, int south, int west) {
+    return ((((center << STATE_BITS | north) << STATE_BITS | east) << STATE_BITS | south)
+        << STATE_BITS) | west;
+  }
+
+  /**
+   * gets next state of a cell
+   * parameter: code of the cell's neighborhood
+   * return value: int value representing next state
+   */
+  public int next(int code) {
+    return table[code];
+  }
+
+  private void add(String entry, boolean[] listed) {
+    if (entry.length() != ENTRY_LENGTH) {
+      throw new IllegalArgumentException("transition is not CNESWR: " + entry);
+    }
+    int[] states = new int[ENTRY_LENGTH];
+    for (int k = 0; k < ENTRY_LENGTH; k++) {
+      states[k] = Character.digit(entry.charAt(k), STATES);
+      if (states[k] < 0) {
+        throw new IllegalArgumentException("transition refers to a missing state: " + entry);
+      }
+    }
+    int next = states[SIDES + 1];
+    for (int turn = 0; turn < SIDES; turn++) {
+      int code = code(states[0], states[1 + turn % SIDES], states[1 + (turn + 1) % SIDES],
+          states[1 + (turn + 2) % SIDES], states[1 + (turn + 3) % SIDES]);
+      if (listed[code] && table[code] != next) {
+        throw new IllegalArgumentException("transition contradicts an earlier one: " + entry);
+      }
+      listed[code] = true;
+      table[code] = (byte) next;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: Larger than Life rule stepped directly over the Grid's StateStore. Neighborhood counts
+ * come from a SummedAreaTable rebuilt once per step, so a radius-10 rule costs about as much per
+ * cell as a radius-1 rule.
+ * <p>
+ * Assumptions: the grid holds the states of the LargerThanLifeRule (0 = dead, 1 = alive, higher
+ * states decaying) and its boundary is read when the first step is prepared. A kernel steps the
+ * grid it first prepared, so each grid needs its own kernel.
+ * <p>
+ * Dependencies: GridKernel, Grid, LargerThanLifeRule, SummedAreaTable
+ *
+ * @author Jay Yoon
+ */
+public class LargerThanLifeKernel implements GridKernel {
+
+  private final LargerThanLifeRule rule;
+  private SummedAreaTable counts;
+
+  public LargerThanLifeKernel(LargerThanLifeRule rule) {
+    this.rule = rule;
+  }
+
+  /**
+   * takes prefix sums of the current states
+   * parameter: Grid to be stepped
+   */
+  @Override
+  public void prepare(Grid grid) {
+    if (counts == null) {
+      counts = new SummedAreaTable(rule.kind(), rule.radius(), grid);
+    }
+    counts.build(grid);
+  }
+
+  /**
+   * applies the rule to every cell in a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    int width = grid.getWidth();
+    int[] alive = new int[width];
+    for (int row = fromRow; row < toRow; row++) {
+      counts.countRow(row, alive);
+      for (int col = 0; col < width; col++) {
+        int index = row * width + col;
+        int state = grid.getType(index);
+        int count = alive[col];
+        if (!rule.middle() && state == LargerThanLifeRule.ALIVE_STATE) {
+          count--;
+        }
+        grid.setNextState(index, rule.next(state, count));
+      }
+    }
+  }
+
+  /**
+   * gets rule the kernel applies
+   * return value: LargerThanLifeRule of kernel
+   */
+  public LargerThanLifeRule getRule() {
+    return rule;
+  }
+}
@@ -0,0 +1,92 @@
+package cellsociety.Model;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Purpose: totalistic rule over a radius-r neighborhood (Larger than Life), written in the same
+ * notation as Golly, e.g. Bosco's rule "R5,C0,M1,S34..58,B34..45,NM".
+ * <p>
+ * Assumptions: R is the radius (at least 1). C is the number of states; C0 and C2 both mean dead
+ * (0) and alive (1), while with more states an alive cell that does not survive decays through
+ * states 2 to C - 1 before it is dead again, and only alive cells are counted. M1 counts the cell
+ * itself. S and B are inclusive ranges of live-cell counts for survival and birth. N picks the
+ * neighborhood: M for Moore (square), N for von Neumann (diamond), C for circular (cells within
+ * Euclidean distance r + 1/2).
+ * <p>
+ * Dependencies: NeighborhoodKind
+ *
+ * @author Jay Yoon
+ */
+public record LargerThanLifeRule(int radius, int states, boolean middle, int survivalMin,
+                                 int survivalMax, int birthMin, int birthMax,
+                                 NeighborhoodKind kind) {
+
+  public static final int DEAD_STATE = 0;
+  public static final int ALIVE_STATE = 1;
+  private static final int DECAY_STATE = 2;
+  private static final Pattern NOTATION = Pattern.compile(
+      "R(\\d+),C(\\d+),M([01]),S(\\d+)\\.\\.(\\d+),B(\\d+)\\.\\.(\\d+),N([MNC])");
+
+  /**
+   * tells Larger than Life notation apart from B/S notation, which never starts with R
+   * parameter: rule String
+   * return value: true if the String should be parsed as a LargerThanLifeRule
+   */
+  public static boolean accepts(String rule) {
+    return rule.trim().toUpperCase(Locale.ROOT).startsWith("R");
+  }
+
+  /**
+   * parses a rule written in Larger than Life notation
+   * parameter: String such as "R5,C0,M1,S34..58,B34..45,NM", case and spaces ignored
+   * return value: LargerThanLifeRule described by the String
+   */
+  public static LargerThanLifeRule parse(String rule) {
+    String s = rule.replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+    Matcher m = NOTATION.matcher(s);
+    if (!m.matches() || Integer.parseInt(m.group(1)) < 1) {
+      throw new IllegalArgumentException("invalid Larger than Life rule: " + rule);
+    }
+    NeighborhoodKind kind = switch (m.group(8)) {
+      case "N" -> NeighborhoodKind.VON_NEUMANN;
+      case "C" -> NeighborhoodKind.CIRCULAR;
+      default -> NeighborhoodKind.MOORE;
+    };
+    return new LargerThanLifeRule(Integer.parseInt(m.group(1)),
+        Math.max(Integer.parseInt(m.group(2)), DECAY_STATE), m.group(3).equals("1"),
+        Integer.parseInt(m.group(4)), Integer.parseInt(m.group(5)), Integer.parseInt(m.group(6)),
+        Integer.parseInt(m.group(7)), kind);
+  }
+
+  /**
+   * computes next state of a cell
+   * parameter: current state of cell, number of alive cells in its neighborhood (including itself
+   * if middle is set)
+   * return value: next state of cell
+   */
+  public int next(int state, int count) {
+    if (state == ALIVE_STATE) {
+      if (count >= survivalMin && count <= survivalMax) {
+        return ALIVE_STATE;
+      }
+      return states > DECAY_STATE ? DECAY_STATE : DEAD_STATE;
+    }
+    if (state == DEAD_STATE) {
+      return count >= birthMin && count <= birthMax ? ALIVE_STATE : DEAD_STATE;
+    }
+    return state + 1 < states ? state + 1 : DEAD_STATE;
+  }
+
+  @Override
+  public String toString() {
+    String n = switch (kind) {
+      case VON_NEUMANN -> "N";
+      case CIRCULAR -> "C";
+      default -> "M";
+    };
+    return String.format("R%d,C%d,M%d,S%d..%d,B%d..%d,N%s", radius, states, middle ? 1 : 0,
+        survivalMin, survivalMax, birthMin, birthMax, n);
+  }
+}
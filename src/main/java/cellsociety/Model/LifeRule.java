@@ -0,0 +1,120 @@
+package cellsociety.Model;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Purpose: Life-like rule written in B/S notation, e.g. "B3/S23" (Conway), "B36/S23" (HighLife),
+ * "B3678/S34678" (Day &amp; Night) or "B2/S" (Seeds). The counts that give birth and survival are
+ * kept as bit masks, and a rule is turned into a (state, neighbor count) to next state table for
+ * kernels.
+ * <p>
+ * Assumptions: cells are dead (0) or alive (1). The older S/B form "23/3" is accepted too. A
+ * trailing H selects the six-cell HEXAGONAL neighborhood other Life tools use for H rules and a
+ * trailing V the von Neumann neighborhood; otherwise the Moore neighborhood of the cell shape is
+ * used. Counts go up to the size of the neighborhood (8, 6 or 4).
+ * <p>
+ * Dependencies: NeighborhoodKind
+ *
+ * @author Jay Yoon
+ */
+public record LifeRule(int birth, int survival, NeighborhoodKind kind, boolean hex) {
+
+  public static final int DEAD_STATE = 0;
+  public static final int ALIVE_STATE = 1;
+  // largest neighborhood is Moore's 8 cells, so counts 0 to 8
+  public static final int COUNTS = 9;
+  public static final LifeRule CONWAY = new LifeRule(1 << 3, 1 << 2 | 1 << 3,
+      NeighborhoodKind.MOORE, false);
+  private static final Pattern BIRTH_SURVIVAL = Pattern.compile("B(\\d*)/S(\\d*)([HV]?)");
+  private static final Pattern SURVIVAL_BIRTH = Pattern.compile("S?(\\d*)/B?(\\d*)([HV]?)");
+  private static final int MOORE_COUNT = 8;
+  private static final int HEX_COUNT = 6;
+  private static final int VON_NEUMANN_COUNT = 4;
+
+  /**
+   * parses a rule written in B/S notation
+   * parameter: String such as "B36/S23" or "B2/S34H", case and spaces ignored
+   * return value: LifeRule described by the String
+   */
+  public static LifeRule parse(String rule) {
+    String s = rule.replaceAll("\\s", "").toUpperCase(Locale.ROOT);
+    Matcher m = BIRTH_SURVIVAL.matcher(s);
+    String births;
+    String survivals;
+    if (m.matches()) {
+      births = m.group(1);
+      survivals = m.group(2);
+    } else {
+      m = SURVIVAL_BIRTH.matcher(s);
+      if (!m.matches()) {
+        throw new IllegalArgumentException("invalid B/S rule: " + rule);
+      }
+      survivals = m.group(1);
+      births = m.group(2);
+    }
+    boolean hex = m.group(3).equals("H");
+    NeighborhoodKind kind = hex ? NeighborhoodKind.HEXAGONAL
+        : m.group(3).equals("V") ? NeighborhoodKind.VON_NEUMANN : NeighborhoodKind.MOORE;
+    int max = hex ? HEX_COUNT : kind == NeighborhoodKind.VON_NEUMANN ? VON_NEUMANN_COUNT
+        : MOORE_COUNT;
+    return new LifeRule(mask(births, max, rule), mask(survivals, max, rule), kind, hex);
+  }
+
+  private static int mask(String digits, int max, String rule) {
+    int mask = 0;
+    for (char c : digits.toCharArray()) {
+      int count = c - '0';
+      if (count > max) {
+        throw new IllegalArgumentException("invalid B/S rule: " + rule);
+      }
+      mask |= 1 << count;
+    }
+    return mask;
+  }
+
+  /**
+   * computes next state of a cell
+   * parameter: current state of cell, number of alive neighbors
+   * return value: next state of cell
+   */
+  public int next(int state, int count) {
+    return ((state == ALIVE_STATE ? survival : birth) >>> count) & 1;
+  }
+
+  /**
+   * builds transition table of the rule
+   * return value: byte array holding next state at state * COUNTS + count
+   */
+  public byte[] table() {
+    byte[] table = new byte[2 * COUNTS];
+    for (int count = 0; count < COUNTS; count++) {
+      table[DEAD_STATE * COUNTS + count] = (byte) next(DEAD_STATE, count);
+      table[ALIVE_STATE * COUNTS + count] = (byte) next(ALIVE_STATE, count);
+    }
+    return table;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder s = new StringBuilder("B");
+    appendDigits(s, birth);
+    s.append("/S");
+    appendDigits(s, survival);
+    if (hex) {
+      s.append('H');
+    } else if (kind == NeighborhoodKind.VON_NEUMANN) {
+      s.append('V');
+    }
+    return s.toString();
+  }
+
+  private static void appendDigits(StringBuilder s, int mask) {
+    for (int count = 0; count < COUNTS; count++) {
+      if ((mask >>> count & 1) == 1) {
+        s.append(count);
+      }
+    }
+  }
+}
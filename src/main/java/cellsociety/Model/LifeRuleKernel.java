@@ -0,0 +1,82 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.CellShape;
+
+/**
+ * Purpose: any Life-like rule stepped directly over the Grid's StateStore. The rule is compiled
+ * into a transition table once, so every rule runs through the same loop: add up the neighbor
+ * states, then read the next state at state * COUNTS + count, with no rule-specific branches.
+ * <p>
+ * Assumptions: cells are dead (0) or alive (1), including the state of a fixed boundary. The
+ * neighborhood is the rule's, on square cells unless the rule asks for the hexagonal one.
+ * <p>
+ * Dependencies: GridKernel, Grid, LifeRule, NeighborTable
+ *
+ * @author Jay Yoon
+ */
+public class LifeRuleKernel implements GridKernel {
+
+  private final LifeRule rule;
+  private final byte[] table;
+  private NeighborTable neighbors;
+  private Grid tableGrid;
+
+  public LifeRuleKernel(LifeRule rule) {
+    this.rule = rule;
+    this.table = rule.table();
+  }
+
+  /**
+   * applies the rule to every cell in a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    NeighborTable stencil = getStencil(grid);
+    for (int i = fromRow * grid.getWidth(); i < toRow * grid.getWidth(); i++) {
+      apply(grid, stencil, i);
+    }
+  }
+
+  /**
+   * applies the rule to a single cell
+   * parameter: Grid to be stepped, position of cell
+   */
+  @Override
+  public void apply(Grid grid, int index) {
+    apply(grid, getStencil(grid), index);
+  }
+
+  /**
+   * cells surrounded by unchanged neighbors keep their state under any Life-like rule
+   * parameter: Grid to be stepped
+   * return value: NeighborTable of the rule's neighborhood, following the grid's boundary
+   */
+  @Override
+  public NeighborTable getStencil(Grid grid) {
+    if (tableGrid != grid) {
+      CellShape shape = rule.hex() ? CellShape.HEX_CELL : CellShape.STANDARD_CELL;
+      neighbors = NeighborTable.of(shape, rule.kind(), grid);
+      tableGrid = grid;
+    }
+    return neighbors;
+  }
+
+  private void apply(Grid grid, NeighborTable stencil, int index) {
+    int[] offsets = stencil.getOffsets();
+    int[] list = stencil.getNeighbors();
+    int alive = 0;
+    for (int k = offsets[index]; k < offsets[index + 1]; k++) {
+      alive += grid.getType(list[k]);
+    }
+    grid.setNextState(index, table[grid.getType(index) * LifeRule.COUNTS + alive]);
+  }
+
+  /**
+   * gets rule the kernel applies
+   * return value: LifeRule of kernel
+   */
+  public LifeRule getRule() {
+    return rule;
+  }
+}
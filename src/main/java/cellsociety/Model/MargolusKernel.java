@@ -0,0 +1,75 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: steps a Grid in a Margolus neighborhood: every step splits the grid into 2x2 blocks and
+ * replaces each block by the entry of a MargolusRule's table for its four states. The blocks of
+ * odd generations start at the top-left cell, those of even generations one cell up and left, so
+ * particles cross block borders every other step. Since blocks never share a cell, bands of rows
+ * run in parallel without locks or claims.
+ * <p>
+ * Assumptions: the grid's states are states of the rule. Cells outside the grid are read as the
+ * rule's boundary state, so blocks hanging over an edge are updated like the others and only
+ * their cells inside the grid are written. A block crossing the border of two bands is computed
+ * by both, each writing its own rows; the variant drawn for a block is keyed by the generation
+ * and the block, so both compute the same block. Every cell is written each step, so the Grid
+ * swaps its arrays.
+ * <p>
+ * Dependencies: GridKernel, Grid, MargolusRule, CounterRandom
+ *
+ * @author Jay Yoon
+ */
+public class MargolusKernel implements GridKernel {
+
+  private static final int VARIANT_DRAW = 0;
+  private final MargolusRule rule;
+
+  public MargolusKernel(MargolusRule rule) {
+    this.rule = rule;
+  }
+
+  /**
+   * applies the block rule to the blocks covering a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    int width = grid.getWidth();
+    long generation = grid.getGeneration();
+    int offset = (int) ((generation + 1) & 1);
+    int states = rule.states();
+    for (int top = fromRow - Math.floorMod(fromRow - offset, 2); top < toRow; top += 2) {
+      for (int left = -offset; left < width; left += 2) {
+        int code = state(grid, left, top) + states * (state(grid, left + 1, top)
+            + states * (state(grid, left, top + 1) + states * state(grid, left + 1, top + 1)));
+        int variant = rule.variants() == 1 ? 0 : grid.getRandom()
+            .nextInt(generation, (top + 1) * (width + 1) + left + 1, VARIANT_DRAW, rule.variants());
+        int next = rule.next(code, variant);
+        write(grid, left, top, rule.cell(next, 0), fromRow, toRow);
+        write(grid, left + 1, top, rule.cell(next, 1), fromRow, toRow);
+        write(grid, left, top + 1, rule.cell(next, 2), fromRow, toRow);
+        write(grid, left + 1, top + 1, rule.cell(next, 3), fromRow, toRow);
+      }
+    }
+  }
+
+  /**
+   * gets rule the kernel applies
+   * return value: MargolusRule of kernel
+   */
+  public MargolusRule getRule() {
+    return rule;
+  }
+
+  private int state(Grid grid, int x, int y) {
+    if (x < 0 || y < 0 || x >= grid.getWidth() || y >= grid.getHeight()) {
+      return rule.boundary();
+    }
+    return grid.getType(y * grid.getWidth() + x);
+  }
+
+  private void write(Grid grid, int x, int y, int state, int fromRow, int toRow) {
+    if (x >= 0 && x < grid.getWidth() && y >= fromRow && y < toRow && y < grid.getHeight()) {
+      grid.setNextState(y * grid.getWidth() + x, state);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: rule of a Margolus (block) neighborhood: the grid is split into 2x2 blocks, and a
+ * block's four cells are replaced together by an entry of a lookup table indexed by their states.
+ * A block never reads or writes a cell of another block, so particles moving inside a block cannot
+ * collide with moves of the neighboring blocks. The table is built once from a BlockUpdate that
+ * rearranges the four cells, and every entry must hold the same states as its block in some order,
+ * so the number of cells in every state is conserved.
+ * <p>
+ * Assumptions: a block's cells are numbered 0 = top left, 1 = top right, 2 = bottom left and 3 =
+ * bottom right, and block code = s0 + k * s1 + k^2 * s2 + k^3 * s3 for k states. A rule may have
+ * several variants of its table, one of which is drawn at random for every block and step. Cells
+ * outside the grid are read as the boundary state, which the update must leave in place.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class MargolusRule {
+
+  public static final int BLOCK_CELLS = 4;
+  private final int states;
+  private final int boundary;
+  private final int variants;
+  private final int codes;
+  // table[variant * codes + code] is the code of the block after the update
+  private final int[] table;
+  // cells[code * BLOCK_CELLS + cell] is the state of a cell of a block
+  private final byte[] cells;
+
+  /**
+   * rearranges the cells of a block
+   */
+  @FunctionalInterface
+  public interface BlockUpdate {
+
+    /**
+     * moves the states of a block's cells in place
+     * parameter: states of cells 0 to 3, variant of the rule drawn for the block
+     */
+    void update(int[] block, int variant);
+  }
+
+  /**
+   * tabulates an update for every block of states
+   * parameter: number of states (largest state + 1), state of cells outside the grid, number of
+   * variants, update rearranging a block
+   * exception: IllegalArgumentException if the update changes the states a block holds or moves
+   * a boundary cell
+   */
+  public MargolusRule(int states, int boundary, int variants, BlockUpdate update) {
+    this.states = states;
+    this.boundary = boundary;
+    this.variants = variants;
+    this.codes = states * states * states * states;
+    this.table = new int[variants * codes];
+    this.cells = new byte[codes * BLOCK_CELLS];
+    int[] block = new int[BLOCK_CELLS];
+    for (int code = 0; code < codes; code++) {
+      decode(code, block);
+      for (int cell = 0; cell < BLOCK_CELLS; cell++) {
+        cells[code * BLOCK_CELLS + cell] = (byte) block[cell];
+      }
+    }
+    int[] before = new int[BLOCK_CELLS];
+    for (int variant = 0; variant < variants; variant++) {
+      for (int code = 0; code < codes; code++) {
+        decode(code, block);
+        System.arraycopy(block, 0, before, 0, BLOCK_CELLS);
+        update.update(block, variant);
+        check(before, block);
+        table[variant * codes + code] = encode(block);
+      }
+    }
+  }
+
+  /**
+   * gets the block after the update
+   * parameter: code of block, variant drawn for the block
+   * return value: int value representing code of updated block
+   */
+  public int next(int code, int variant) {
+    return table[variant * codes + code];
+  }
+
+  /**
+   * gets state of one cell of a block
+   * parameter: code of block, number of cell from 0 (top left) to 3 (bottom right)
+   * return value: int value representing state of cell
+   */
+  public int cell(int code, int cell) {
+    return cells[code * BLOCK_CELLS + cell];
+  }
+
+  /**
+   * gets number of states
+   * return value: int value representing largest state + 1
+   */
+  public int states() {
+    return states;
+  }
+
+  /**
+   * gets state of cells outside the grid
+   * return value: int value representing boundary state
+   */
+  public int boundary() {
+    return boundary;
+  }
+
+  /**
+   * gets number of variants a block draws from
+   * return value: int value representing number of tables
+   */
+  public int variants() {
+    return variants;
+  }
+
+  private int encode(int[] block) {
+    int code = 0;
+    for (int cell = BLOCK_CELLS - 1; cell >= 0; cell--) {
+      code = code * states + block[cell];
+    }
+    return code;
+  }
+
+  private void decode(int code, int[] block) {
+    for (int cell = 0; cell < BLOCK_CELLS; cell++) {
+      block[cell] = code % states;
+      code /= states;
+    }
+  }
+
+  private void check(int[] before, int[] after) {
+    for (int cell = 0; cell < BLOCK_CELLS; cell++) {
+      if (before[cell] == boundary && after[cell] != boundary) {
+        throw new IllegalArgumentException("block update moves the boundary: "
+            + Arrays.toString(before) + " -> " + Arrays.toString(after));
+      }
+    }
+    int[] sortedBefore = before.clone();
+    int[] sortedAfter = after.clone();
+    Arrays.sort(sortedBefore);
+    Arrays.sort(sortedAfter);
+    if (!Arrays.equals(sortedBefore, sortedAfter)) {
+      throw new IllegalArgumentException("block update does not conserve states: "
+          + Arrays.toString(before) + " -> " + Arrays.toString(after));
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package cellsociety.Model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Purpose: arbitrates moves of agent simulations so every cell can decide in parallel. In the
+ * first phase each agent claims the cell it wants to move into; in the second phase only the
+ * winner of a claim writes that cell. The winner is the agent with the lowest hashed id, so the
+ * outcome does not depend on the order cells are visited or on how many threads visit them.
+ * <p>
+ * Assumptions: agents are identified by their position on the grid. Priorities and choices are
+ * draws 0 and 1 of the agent's CounterRandom numbers for the generation, so the same agent does not
+ * always win ties and a run replays from the grid's seed. The cells claimed in a generation are
+ * listed as they are first claimed, so clearing them costs time in proportion to the moves rather
+ * than the size of the grid.
+ * <p>
+ * Dependencies: CounterRandom
+ *
+ * @author Jay Yoon
+ */
+public class MoveArbiter {
+
+  private static final long NO_CLAIM = Long.MAX_VALUE;
+  private static final VarHandle CLAIMS = MethodHandles.arrayElementVarHandle(long[].class);
+  private static final int PRIORITY_DRAW = 0;
+  private static final int CHOOSE_DRAW = 1;
+
+  private final long[] claims;
+  // targets claimed this generation, the first claimedCount entries are valid
+  private final int[] claimed;
+  private final AtomicInteger claimedCount = new AtomicInteger();
+  private final CounterRandom random;
+  private long generation;
+
+  public MoveArbiter(int size, CounterRandom random) {
+    this.random = random;
+    claims = new long[size];
+    claimed = new int[size];
+    Arrays.fill(claims, NO_CLAIM);
+  }
+
+  /**
+   * clears the claims of the last generation and moves on to the next one. Must not run while
+   * cells are claiming.
+   */
+  public void nextGeneration() {
+    int count = claimedCount.getAndSet(0);
+    for (int k = 0; k < count; k++) {
+      claims[claimed[k]] = NO_CLAIM;
+    }
+    generation++;
+  }
+
+  /**
+   * gets number of generations arbitrated so far
+   * return value: long value representing current generation
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * posts an agent's intent to move into a target cell, keeping the bid of the lowest hashed id
+   * parameter: position of target cell, position of agent
+   */
+  public void claim(int target, int agent) {
+    long bid = ((long) priority(agent) << Integer.SIZE) | agent;
+    long current = (long) CLAIMS.getVolatile(claims, target);
+    while (bid < current) {
+      if (CLAIMS.compareAndSet(claims, target, current, bid)) {
+        if (current == NO_CLAIM) {
+          claimed[claimedCount.getAndIncrement()] = target;
+        }
+        return;
+      }
+      current = (long) CLAIMS.getVolatile(claims, target);
+    }
+  }
+
+  /**
+   * tells whether an agent won its claim on a target, valid once every agent has claimed
+   * parameter: position of target cell, position of agent
+   * return value: true if agent may write target
+   */
+  public boolean won(int target, int agent) {
+    long current = claims[target];
+    return current != NO_CLAIM && (int) current == agent;
+  }
+
+  /**
+   * tells whether any agent claimed a cell, valid once every agent has claimed
+   * parameter: position of cell
+   * return value: true if cell was claimed this generation
+   */
+  public boolean isClaimed(int target) {
+    return claims[target] != NO_CLAIM;
+  }
+
+  /**
+   * draws a choice for an agent that depends only on the agent and the generation, so proposals
+   * are reproducible in parallel
+   * parameter: position of agent, number of options
+   * return value: int value between 0 (inclusive) and bound (exclusive)
+   */
+  public int choose(int agent, int bound) {
+    return random.nextInt(generation, agent, CHOOSE_DRAW, bound);
+  }
+
+  private int priority(int agent) {
+    return (int) (random.bits(generation, agent, PRIORITY_DRAW) >>> (Integer.SIZE + 1));
+  }
+}
@@ -0,0 +1,239 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.Boundary;
+import cellsociety.Controller.CellShape;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Purpose: neighbor indices of every cell of a grid, stored in compressed sparse row form. The
+ * neighbors of cell i are neighbors[offsets[i]] to neighbors[offsets[i + 1] - 1], in the order of
+ * the neighborhood's stencil.
+ * <p>
+ * Assumptions: tables depend only on (shape, kind, width, height, boundary), so they are built
+ * once and shared by every simulation with the same geometry. Tables are never modified after being
+ * built. The boundary is resolved while building: a torus wraps indices, reflective edges point at
+ * the mirrored cell inside the grid (the edge cell itself for a neighbor one step outside), and a
+ * fixed boundary points at the ghost position width * height, which the Grid keeps at the fixed
+ * state. Rules reading the table therefore never test for edges. Padded tables keep a fixed number
+ * of slots per cell and mark neighbors outside a clipped grid with MISSING, for rules that care
+ * about direction.
+ * <p>
+ * Dependencies: CellShape, NeighborhoodKind, Boundary
+ *
+ * @author Jay Yoon
+ */
+public class NeighborTable {
+
+  public static final int MISSING = -1;
+  // {row offset, col offset}; von Neumann and the first four Moore steps are north, east, south
+  // and west
+  private static final int[][] VON_NEUMANN = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}};
+  private static final int[][] MOORE = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}, {-1, 1}, {1, 1},
+      {1, -1}, {-1, -1}};
+  private static final int[][] PERCOLATION = {{-1, 0}, {0, -1}, {0, 1}};
+  private static final int[][] HEX = {{-1, -1}, {-1, 1}, {1, 0}, {0, -1}, {0, 1}};
+  private static final int[][] HEXAGONAL = {{-1, 0}, {0, 1}, {1, 0}, {0, -1}, {1, 1}, {-1, -1}};
+  private static final Map<Key, NeighborTable> CACHE = new ConcurrentHashMap<>();
+
+  private final int[] offsets;
+  private final int[] neighbors;
+  private final int width;
+  private final int height;
+  private volatile NeighborTable readers;
+
+  private record Key(CellShape shape, NeighborhoodKind kind, int width, int height,
+                     Boundary boundary, boolean padded) {
+
+  }
+
+  private NeighborTable(int[][] stencil, int width, int height, Boundary boundary,
+      boolean padded) {
+    this.width = width;
+    this.height = height;
+    int size = width * height;
+    offsets = new int[size + 1];
+    int[] list = new int[size * stencil.length];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      offsets[i] = count;
+      int row = i / width;
+      int col = i % width;
+      for (int[] step : stencil) {
+        int r = resolve(row + step[0], height, boundary);
+        int c = resolve(col + step[1], width, boundary);
+        if (r != MISSING && c != MISSING) {
+          list[count++] = r * width + c;
+        } else if (boundary == Boundary.FIXED_BOUNDARY) {
+          list[count++] = size;
+        } else if (padded) {
+          list[count++] = MISSING;
+        }
+      }
+    }
+    offsets[size] = count;
+    neighbors = count == list.length ? list : Arrays.copyOf(list, count);
+  }
+
+  private NeighborTable(NeighborTable table) {
+    this.width = table.width;
+    this.height = table.height;
+    int size = width * height;
+    offsets = new int[size + 1];
+    for (int target : table.neighbors) {
+      if (target != MISSING && target < size) {
+        offsets[target + 1]++;
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      offsets[i + 1] += offsets[i];
+    }
+    neighbors = new int[offsets[size]];
+    int[] fill = Arrays.copyOf(offsets, size);
+    for (int i = 0; i < size; i++) {
+      for (int k = table.offsets[i]; k < table.offsets[i + 1]; k++) {
+        int target = table.neighbors[k];
+        if (target != MISSING && target < size) {
+          neighbors[fill[target]++] = i;
+        }
+      }
+    }
+  }
+
+  /**
+   * gets shared table of in-grid neighbors with clipped edges, building it on first use
+   * parameter: cell shape, neighborhood kind, grid width and height
+   * return value: NeighborTable for that geometry
+   */
+  public static NeighborTable of(CellShape shape, NeighborhoodKind kind, int width, int height) {
+    return of(shape, kind, width, height, Boundary.CLIPPED_BOUNDARY, false);
+  }
+
+  /**
+   * gets shared table for the size and boundary of a grid, building it on first use
+   * parameter: cell shape, neighborhood kind, grid the table is for
+   * return value: NeighborTable for that geometry
+   */
+  public static NeighborTable of(CellShape shape, NeighborhoodKind kind, Grid grid) {
+    return of(shape, kind, grid.getWidth(), grid.getHeight(), grid.getBoundary(), false);
+  }
+
+  /**
+   * gets shared table with a fixed number of slots per cell, MISSING where a neighbor would fall
+   * outside a clipped grid
+   * parameter: cell shape, neighborhood kind, grid the table is for
+   * return value: padded NeighborTable for that geometry
+   */
+  public static NeighborTable padded(CellShape shape, NeighborhoodKind kind, Grid grid) {
+    return of(shape, kind, grid.getWidth(), grid.getHeight(), grid.getBoundary(), true);
+  }
+
+  private static NeighborTable of(CellShape shape, NeighborhoodKind kind, int width, int height,
+      Boundary boundary, boolean padded) {
+    return CACHE.computeIfAbsent(new Key(shape, kind, width, height, boundary, padded),
+        key -> new NeighborTable(stencil(shape, kind), width, height, boundary, padded));
+  }
+
+  /**
+   * maps a row or column index through a boundary
+   * parameter: row or column index, number of rows or columns, boundary
+   * return value: index inside the grid, MISSING past a clipped or fixed edge
+   */
+  static int resolve(int index, int length, Boundary boundary) {
+    if (index >= 0 && index < length) {
+      return index;
+    }
+    return switch (boundary) {
+      case TORUS_BOUNDARY -> Math.floorMod(index, length);
+      case REFLECTIVE_BOUNDARY -> {
+        int mirrored = Math.floorMod(index, 2 * length);
+        yield mirrored < length ? mirrored : 2 * length - 1 - mirrored;
+      }
+      case CLIPPED_BOUNDARY, FIXED_BOUNDARY -> MISSING;
+    };
+  }
+
+  private static int[][] stencil(CellShape shape, NeighborhoodKind kind) {
+    return switch (kind) {
+      case MOORE, CIRCULAR -> shape == CellShape.HEX_CELL ? HEX : MOORE;
+      case VON_NEUMANN -> VON_NEUMANN;
+      case PERCOLATION -> PERCOLATION;
+      case HEXAGONAL -> HEXAGONAL;
+    };
+  }
+
+  /**
+   * gets transposed table, listing for every cell the cells that have it as a neighbor. Same as
+   * this table for symmetric stencils, but not for the percolation or hex stencils.
+   * return value: NeighborTable of readers, built on first use
+   */
+  public NeighborTable readers() {
+    NeighborTable table = readers;
+    if (table == null) {
+      table = new NeighborTable(this);
+      readers = table;
+    }
+    return table;
+  }
+
+  /**
+   * gets index of first neighbor of a cell in the neighbor array
+   * parameter: position of cell
+   * return value: int value representing start of cell's row
+   */
+  public int start(int index) {
+    return offsets[index];
+  }
+
+  /**
+   * gets index one past last neighbor of a cell in the neighbor array
+   * parameter: position of cell
+   * return value: int value representing end of cell's row
+   */
+  public int end(int index) {
+    return offsets[index + 1];
+  }
+
+  /**
+   * gets position of neighbor stored at a slot of the neighbor array
+   * parameter: slot between start and end of a cell
+   * return value: position of neighbor cell, width * height for the ghost cell of a fixed boundary,
+   * or MISSING in padded tables
+   */
+  public int neighbor(int slot) {
+    return neighbors[slot];
+  }
+
+  /**
+   * gets row offsets for loops that read the arrays directly
+   * return value: int array of length cell count + 1
+   */
+  public int[] getOffsets() {
+    return offsets;
+  }
+
+  /**
+   * gets neighbor positions for loops that read the arrays directly
+   * return value: int array of neighbor positions
+   */
+  public int[] getNeighbors() {
+    return neighbors;
+  }
+
+  /**
+   * gets width of grid the table was built for
+   * return value: int value representing grid width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * gets height of grid the table was built for
+   * return value: int value representing grid height
+   */
+  public int getHeight() {
+    return height;
+  }
+}
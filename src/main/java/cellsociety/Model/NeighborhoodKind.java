@@ -0,0 +1,17 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: Enum type to name the neighborhoods a NeighborTable can be built for
+ * <p>
+ * Assumptions: MOORE on hexagonal cells means the five-cell hexagonal stencil of NeighborTable.
+ * HEXAGONAL is the six-cell neighborhood of H rules in other Life tools: the Moore cells except the
+ * north-east and south-west corners. CIRCULAR holds the cells within Euclidean distance r + 1/2,
+ * the same cells as MOORE at radius 1
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public enum NeighborhoodKind {
+  MOORE, VON_NEUMANN, PERCOLATION, CIRCULAR, HEXAGONAL
+}
@@ -0,0 +1,156 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Purpose: Monte Carlo estimate of percolation curves with the Newman-Ziff algorithm. Each replica
+ * opens the sites of an empty grid one at a time in random order, joining every opened site to its
+ * open north, south, west and east neighbors in a UnionFind, and records after every opening
+ * whether an open cluster spans the grid from top to bottom and how large the largest cluster is.
+ * One replica therefore measures every occupation fraction in a single pass over the grid, instead
+ * of one grid per fraction. Replicas are split into one range per worker thread of a
+ * ParallelStepper, each with its own replica arrays and sums, and averaged.
+ * <p>
+ * Assumptions: the grid is clipped at its edges, as in PercolationSolver. Every root of the
+ * UnionFind carries flags telling whether its cluster touches the top and the bottom row, so the
+ * largest cluster is counted in sites only. Replica seeds are drawn from the given seed before any
+ * replica runs, so the curve does not depend on the number of threads.
+ * <p>
+ * Dependencies: UnionFind, ParallelStepper
+ *
+ * @author Jay Yoon
+ */
+public class NewmanZiff {
+
+  private static final byte TOP = 1;
+  private static final byte BOTTOM = 2;
+  private static final byte SPANNING = TOP | BOTTOM;
+  private final int width;
+  private final int height;
+  private final int sites;
+
+  /**
+   * averaged result of a sweep
+   * parameter: number of sites of the grid, number of replicas averaged, and for every number of
+   * open sites n (index n - 1) the fraction of replicas with a spanning cluster and the mean size
+   * of the largest cluster as a fraction of all sites
+   */
+  public record Curve(int sites, int replicas, double[] spanning, double[] largest) {
+
+    /**
+     * gets occupation fraction after a number of sites were opened
+     * parameter: number of open sites, 1 to sites
+     * return value: double value between 0 and 1
+     */
+    public double fraction(int open) {
+      return (double) open / sites;
+    }
+  }
+
+  public NewmanZiff(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.sites = width * height;
+  }
+
+  /**
+   * runs replicas and averages them
+   * parameter: number of replicas, seed of the whole sweep, number of worker threads (1 to run on
+   * the calling thread)
+   * return value: Curve averaged over all replicas
+   */
+  public Curve sweep(int replicas, long seed, int parallelism) {
+    SplittableRandom seeds = new SplittableRandom(seed);
+    long[] replicaSeeds = new long[replicas];
+    for (int r = 0; r < replicas; r++) {
+      replicaSeeds[r] = seeds.nextLong();
+    }
+    long[] spanning = new long[sites];
+    long[] largest = new long[sites];
+    ParallelStepper.BandAction band = (from, to) -> {
+      long[] bandSpanning = new long[sites];
+      long[] bandLargest = new long[sites];
+      Replica replica = new Replica();
+      for (int r = from; r < to; r++) {
+        replica.run(new SplittableRandom(replicaSeeds[r]), bandSpanning, bandLargest);
+      }
+      synchronized (spanning) {
+        for (int n = 0; n < sites; n++) {
+          spanning[n] += bandSpanning[n];
+          largest[n] += bandLargest[n];
+        }
+      }
+    };
+    if (parallelism > 1) {
+      ParallelStepper.of(parallelism).runPerThread(replicas, band);
+    } else {
+      band.run(0, replicas);
+    }
+    double[] spanningCurve = new double[sites];
+    double[] largestCurve = new double[sites];
+    for (int n = 0; n < sites; n++) {
+      spanningCurve[n] = (double) spanning[n] / replicas;
+      largestCurve[n] = (double) largest[n] / replicas / sites;
+    }
+    return new Curve(sites, replicas, spanningCurve, largestCurve);
+  }
+
+  // arrays of one worker thread, reused by all of its replicas
+  private class Replica {
+
+    private final int[] order = new int[sites];
+    private final boolean[] open = new boolean[sites];
+    private final byte[] edges = new byte[sites];
+    private final UnionFind clusters = new UnionFind(sites);
+
+    private void run(SplittableRandom random, long[] spanning, long[] largest) {
+      for (int i = 0; i < sites; i++) {
+        int j = random.nextInt(i + 1);
+        order[i] = order[j];
+        order[j] = i;
+      }
+      Arrays.fill(open, false);
+      clusters.reset();
+      boolean spans = false;
+      for (int n = 0; n < sites; n++) {
+        int site = order[n];
+        open[site] = true;
+        int row = site / width;
+        int col = site % width;
+        edges[site] = (byte) ((row == 0 ? TOP : 0) | (row == height - 1 ? BOTTOM : 0));
+        int root = site;
+        if (row > 0) {
+          root = join(root, site - width);
+        }
+        if (row < height - 1) {
+          root = join(root, site + width);
+        }
+        if (col > 0) {
+          root = join(root, site - 1);
+        }
+        if (col < width - 1) {
+          root = join(root, site + 1);
+        }
+        spans |= edges[root] == SPANNING;
+        spanning[n] += spans ? 1 : 0;
+        largest[n] += clusters.getLargest();
+      }
+    }
+
+    // joins the cluster of root with an open neighbor's, merging their edge flags
+    private int join(int root, int neighbor) {
+      if (!open[neighbor]) {
+        return root;
+      }
+      int other = clusters.find(neighbor);
+      if (other == root) {
+        return root;
+      }
+      byte merged = (byte) (edges[root] | edges[other]);
+      int joined = clusters.union(root, other);
+      edges[joined] = merged;
+      return joined;
+    }
+  }
+}
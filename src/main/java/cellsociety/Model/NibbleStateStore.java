@@ -0,0 +1,85 @@
+package cellsociety.Model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Purpose: StateStore packing two cells per byte, used by simulations with at most 16 states
+ * (every simulation shipped in data/).
+ * <p>
+ * Assumptions: even positions use the low nibble, odd positions the high nibble. Two cells share a
+ * byte, so concurrent writers must either work on ranges starting at even positions or switch the
+ * store to concurrent mode, where next states are written with compare-and-set.
+ * <p>
+ * Dependencies: extends StateStore
+ *
+ * @author Jay Yoon
+ */
+public class NibbleStateStore extends StateStore {
+
+  private static final int MASK = 0xF;
+  private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(byte[].class);
+  private byte[] current;
+  private byte[] next;
+  private boolean concurrent;
+
+  public NibbleStateStore(int size) {
+    super(size);
+    current = new byte[(size + 1) >> 1];
+    next = new byte[(size + 1) >> 1];
+  }
+
+  @Override
+  public int get(int index) {
+    return (current[index >> 1] >> shift(index)) & MASK;
+  }
+
+  @Override
+  public int getNext(int index) {
+    return (next[index >> 1] >> shift(index)) & MASK;
+  }
+
+  @Override
+  public void set(int index, int state) {
+    current[index >> 1] = pack(current[index >> 1], index, state);
+    next[index >> 1] = pack(next[index >> 1], index, state);
+  }
+
+  @Override
+  public void setNext(int index, int state) {
+    if (concurrent) {
+      byte packed;
+      do {
+        packed = (byte) ENTRIES.getVolatile(next, index >> 1);
+      } while (!ENTRIES.compareAndSet(next, index >> 1, packed, pack(packed, index, state)));
+      return;
+    }
+    next[index >> 1] = pack(next[index >> 1], index, state);
+  }
+
+  @Override
+  public void setConcurrent(boolean concurrent) {
+    this.concurrent = concurrent;
+  }
+
+  @Override
+  public void swap() {
+    byte[] temp = current;
+    current = next;
+    next = temp;
+  }
+
+  @Override
+  public void commit(int from, int to) {
+    System.arraycopy(next, from >> 1, current, from >> 1, ((to + 1) >> 1) - (from >> 1));
+  }
+
+  private static int shift(int index) {
+    return (index & 1) << 2;
+  }
+
+  private static byte pack(byte packed, int index, int state) {
+    int shift = shift(index);
+    return (byte) ((packed & ~(MASK << shift)) | ((state & MASK) << shift));
+  }
+}
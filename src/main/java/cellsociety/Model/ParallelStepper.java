@@ -0,0 +1,117 @@
+package cellsociety.Model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Purpose: runs a step phase over horizontal bands of grid rows on a ForkJoinPool. Each call
+ * returns only once every band is done, so consecutive calls are separated by a barrier.
+ * <p>
+ * Assumptions: the action only writes state of cells inside its own band. Bands start on even rows
+ * so two bands never share a byte of a NibbleStateStore, even when the grid width is odd.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class ParallelStepper {
+
+  private static final int TASKS_PER_THREAD = 4;
+  private static final Map<Integer, ParallelStepper> STEPPERS = new ConcurrentHashMap<>();
+
+  private final ForkJoinPool pool;
+  private final int parallelism;
+
+  /**
+   * work done on one band of rows
+   */
+  public interface BandAction {
+
+    /**
+     * runs phase for rows fromRow (inclusive) to toRow (exclusive)
+     */
+    void run(int fromRow, int toRow);
+  }
+
+  private ParallelStepper(int parallelism) {
+    this.parallelism = parallelism;
+    this.pool = new ForkJoinPool(parallelism);
+  }
+
+  /**
+   * gets shared stepper for a parallelism level, so simulations reuse one pool per level
+   * parameter: number of worker threads
+   * return value: ParallelStepper backed by a pool of that size
+   */
+  public static ParallelStepper of(int parallelism) {
+    return STEPPERS.computeIfAbsent(parallelism, ParallelStepper::new);
+  }
+
+  /**
+   * gets number of worker threads
+   * return value: int value representing parallelism level
+   */
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * splits rows into bands and runs the action on all of them, waiting for every band to finish
+   * parameter: number of rows, work to do on each band
+   */
+  public void run(int height, BandAction action) {
+    int bandRows = Math.max(2, height / (parallelism * TASKS_PER_THREAD));
+    pool.invoke(new BandTask(0, height, bandRows, action));
+  }
+
+  /**
+   * splits items into one range per worker thread and runs the action on all of them, waiting for
+   * every range to finish, for actions that set up per-thread buffers worth more than a few rows
+   * parameter: number of items, work to do on each range
+   */
+  public void runPerThread(int count, BandAction action) {
+    ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[parallelism];
+    for (int t = 0; t < parallelism; t++) {
+      int from = (int) ((long) count * t / parallelism);
+      int to = (int) ((long) count * (t + 1) / parallelism);
+      if (from < to) {
+        tasks[t] = pool.submit(() -> action.run(from, to));
+      }
+    }
+    for (ForkJoinTask<?> task : tasks) {
+      if (task != null) {
+        task.join();
+      }
+    }
+  }
+
+  private static class BandTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+    private final int fromRow;
+    private final int toRow;
+    private final int bandRows;
+    private final BandAction action;
+
+    private BandTask(int fromRow, int toRow, int bandRows, BandAction action) {
+      this.fromRow = fromRow;
+      this.toRow = toRow;
+      this.bandRows = bandRows;
+      this.action = action;
+    }
+
+    @Override
+    protected void compute() {
+      if (toRow - fromRow <= bandRows) {
+        action.run(fromRow, toRow);
+        return;
+      }
+      int mid = fromRow + (((toRow - fromRow) / 2 + 1) & ~1);
+      invokeAll(new BandTask(fromRow, mid, bandRows, action),
+          new BandTask(mid, toRow, bandRows, action));
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package cellsociety.Model;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Purpose: Percolation stepped from a PercolationSolver instead of by CellPercolation objects. The
+ * solver finds every wet site and the generation the water reaches it when the grid is loaded, so
+ * whether the grid percolates is known before the first step, and each step only shows the sites
+ * whose generation has come. Sites opened while the simulation runs join the solver's clusters at
+ * the start of the next step.
+ * <p>
+ * Assumptions: states are blocked (0), open (1) and flowing (2). Water follows PercolationSolver,
+ * which also lets it rise through open sites, while CellPercolation only lets it flow down and
+ * sideways. Every cell is written each step, so the Grid swaps its arrays.
+ * <p>
+ * Dependencies: GridKernel, Grid, PercolationSolver
+ *
+ * @author Jay Yoon
+ */
+public class PercolationKernel implements GridKernel {
+
+  private static final int BLOCKED_STATE = 0;
+  private static final int EMPTY_STATE = 1;
+  private static final int FLOWING_STATE = 2;
+  private final Queue<Integer> openings = new ConcurrentLinkedQueue<>();
+  private PercolationSolver solver;
+  private int generation;
+
+  /**
+   * labels the loaded layout before the first step and opens sites requested since the last step
+   * parameter: Grid to be stepped
+   */
+  @Override
+  public void prepare(Grid grid) {
+    getSolver(grid);
+    generation++;
+    for (Integer index = openings.poll(); index != null; index = openings.poll()) {
+      solver.open(index, generation);
+    }
+  }
+
+  /**
+   * shows the water front of the current generation in a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    for (int i = fromRow * grid.getWidth(); i < toRow * grid.getWidth(); i++) {
+      if (!solver.isOpen(i)) {
+        grid.setNextState(i, BLOCKED_STATE);
+      } else {
+        grid.setNextState(i, solver.getArrival(i) <= generation ? FLOWING_STATE : EMPTY_STATE);
+      }
+    }
+  }
+
+  /**
+   * asks for a blocked site to be opened at the start of the next step, safe to call from the
+   * thread driving the view while the grid is stepped
+   * parameter: position of site
+   */
+  public void open(int index) {
+    openings.add(index);
+  }
+
+  /**
+   * gets the solver holding the clusters of the grid, labelling the grid's current states on first
+   * use, so it can be asked whether the grid percolates before any step
+   * parameter: Grid the kernel steps
+   * return value: PercolationSolver of grid
+   */
+  public PercolationSolver getSolver(Grid grid) {
+    if (solver == null) {
+      solver = new PercolationSolver(grid);
+    }
+    return solver;
+  }
+}
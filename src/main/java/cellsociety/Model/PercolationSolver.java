@@ -0,0 +1,231 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: answers percolation questions about a grid of open and blocked sites without stepping
+ * it. Open sites are joined with their open north, south, west and east neighbors in a UnionFind
+ * that also holds a virtual top node, joined to every open site of the first row, and a virtual
+ * bottom node, joined to every open site of the last row. The grid percolates when top and bottom
+ * are connected. Wet sites are the ones reached breadth first from the top row, each labelled with
+ * the generation at which the water front reaches it, so a view can animate the flow from the
+ * labels. Wetness is not read from the UnionFind, where once the grid percolates every cluster
+ * touching the bottom row would look connected to top through the bottom node.
+ * <p>
+ * Assumptions: the grid is clipped at its edges. Water fills every site connected to the top row,
+ * rising as well as falling, as in site percolation. Open sites of the first row are reached in
+ * generation 1 and every other wet site one generation after its earliest wet neighbor. Sites may
+ * be opened one at a time later on; the front then spreads from the opened site starting no
+ * earlier than the generation it was opened in. Not thread safe.
+ * <p>
+ * Dependencies: UnionFind, Grid for the initial layout
+ *
+ * @author Jay Yoon
+ */
+public class PercolationSolver {
+
+  public static final int DRY = Integer.MAX_VALUE;
+  private static final int BLOCKED_STATE = 0;
+  private static final int FIRST_GENERATION = 1;
+  private final int width;
+  private final int height;
+  private final int top;
+  private final int bottom;
+  private final boolean[] open;
+  private final int[] arrival;
+  private final UnionFind clusters;
+  // breadth-first queue of sites whose arrival generation was lowered
+  private final int[] queue;
+  private int wetCount;
+
+  /**
+   * creates a solver for a grid whose sites are all blocked
+   * parameter: width and height of grid
+   */
+  public PercolationSolver(int width, int height) {
+    this.width = width;
+    this.height = height;
+    int size = width * height;
+    this.top = size;
+    this.bottom = size + 1;
+    this.open = new boolean[size];
+    this.arrival = new int[size];
+    this.queue = new int[size];
+    this.clusters = new UnionFind(size + 2);
+    Arrays.fill(arrival, DRY);
+  }
+
+  /**
+   * creates a solver from the current states of a grid, in one pass of unions and one
+   * breadth-first pass over the wet sites
+   * parameter: Grid whose cells are blocked in state 0 and open in any other state
+   */
+  public PercolationSolver(Grid grid) {
+    this(grid.getWidth(), grid.getHeight());
+    for (int i = 0; i < open.length; i++) {
+      open[i] = grid.getType(i) != BLOCKED_STATE;
+    }
+    for (int i = 0; i < open.length; i++) {
+      if (open[i]) {
+        join(i);
+      }
+    }
+    int tail = 0;
+    for (int x = 0; x < width && height > 0; x++) {
+      if (open[x]) {
+        arrival[x] = FIRST_GENERATION;
+        queue[tail++] = x;
+      }
+    }
+    spread(tail);
+  }
+
+  /**
+   * opens a blocked site, joining it to the clusters around it. If that connects sites to the top,
+   * the water front reaches them from the opened site.
+   * parameter: position of site, generation in which it is opened
+   */
+  public void open(int index, int generation) {
+    if (open[index]) {
+      return;
+    }
+    open[index] = true;
+    join(index);
+    int earliest = index < width ? FIRST_GENERATION : DRY;
+    int row = index / width;
+    int col = index % width;
+    earliest = Math.min(earliest, next(row > 0 ? index - width : -1));
+    earliest = Math.min(earliest, next(row < height - 1 ? index + width : -1));
+    earliest = Math.min(earliest, next(col > 0 ? index - 1 : -1));
+    earliest = Math.min(earliest, next(col < width - 1 ? index + 1 : -1));
+    if (earliest == DRY) {
+      return;
+    }
+    arrival[index] = Math.max(earliest, generation);
+    queue[0] = index;
+    spread(1);
+  }
+
+  // generation right after a neighbor gets wet, DRY if there is no such neighbor
+  private int next(int neighbor) {
+    return neighbor < 0 || arrival[neighbor] == DRY ? DRY : arrival[neighbor] + 1;
+  }
+
+  private void join(int index) {
+    int row = index / width;
+    int col = index % width;
+    if (row == 0) {
+      clusters.union(index, top);
+    }
+    if (row == height - 1) {
+      clusters.union(index, bottom);
+    }
+    if (row > 0 && open[index - width]) {
+      clusters.union(index, index - width);
+    }
+    if (row < height - 1 && open[index + width]) {
+      clusters.union(index, index + width);
+    }
+    if (col > 0 && open[index - 1]) {
+      clusters.union(index, index - 1);
+    }
+    if (col < width - 1 && open[index + 1]) {
+      clusters.union(index, index + 1);
+    }
+  }
+
+  // lowers arrival generations breadth first from the queued sites. Queued sites share one
+  // arrival generation, so every site is lowered at most once and the queue never overflows.
+  private void spread(int tail) {
+    wetCount += tail;
+    int head = 0;
+    while (head < tail) {
+      int site = queue[head++];
+      int row = site / width;
+      int col = site % width;
+      int candidate = arrival[site] + 1;
+      if (row > 0) {
+        tail = relax(site - width, candidate, tail);
+      }
+      if (row < height - 1) {
+        tail = relax(site + width, candidate, tail);
+      }
+      if (col > 0) {
+        tail = relax(site - 1, candidate, tail);
+      }
+      if (col < width - 1) {
+        tail = relax(site + 1, candidate, tail);
+      }
+    }
+  }
+
+  private int relax(int site, int candidate, int tail) {
+    if (!open[site] || arrival[site] <= candidate) {
+      return tail;
+    }
+    if (arrival[site] == DRY) {
+      wetCount++;
+    }
+    arrival[site] = candidate;
+    queue[tail] = site;
+    return tail + 1;
+  }
+
+  /**
+   * tells whether water can flow from the top row to the bottom row
+   * return value: true if the virtual top and bottom nodes are connected
+   */
+  public boolean percolates() {
+    return clusters.connected(top, bottom);
+  }
+
+  /**
+   * tells whether a site fills with water
+   * parameter: position of site
+   * return value: true if the site is open and connected to the top row
+   */
+  public boolean isWet(int index) {
+    return arrival[index] != DRY;
+  }
+
+  /**
+   * tells whether a site is open
+   * parameter: position of site
+   * return value: true if water may pass through the site
+   */
+  public boolean isOpen(int index) {
+    return open[index];
+  }
+
+  /**
+   * gets the generation at which the water front reaches a site
+   * parameter: position of site
+   * return value: int value of at least 1, DRY if the site never fills
+   */
+  public int getArrival(int index) {
+    return arrival[index];
+  }
+
+  /**
+   * gets number of sites that fill with water
+   * return value: int value representing number of wet sites
+   */
+  public int getWetCount() {
+    return wetCount;
+  }
+
+  /**
+   * gets number of open sites in the cluster of a site
+   * parameter: position of site
+   * return value: int value, 0 for a blocked site
+   */
+  public int getClusterSize(int index) {
+    if (!open[index]) {
+      return 0;
+    }
+    int size = clusters.sizeOf(index);
+    size -= clusters.connected(index, top) ? 1 : 0;
+    size -= clusters.connected(index, bottom) ? 1 : 0;
+    return size;
+  }
+}
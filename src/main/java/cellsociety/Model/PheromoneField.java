@@ -0,0 +1,104 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: two pheromone channels, home and food, stored as float grids padded with a ring of
+ * cells that always hold 0. Each step evaporates and diffuses both channels in one pass: a cell
+ * keeps 1 - diffusion of its level, receives diffusion / 4 of each von Neumann neighbor's level,
+ * loses the evaporation rate and is clamped at 0. The pass reads the current arrays and writes the
+ * next ones, so bands of rows run in parallel, and walks every band in tiles of TILE_COLUMNS
+ * columns, so the three rows a tile reads stay in cache however wide the grid is. The inner loop
+ * is plain float arithmetic over consecutive cells, which the JIT compiles to vector instructions.
+ * <p>
+ * Assumptions: callers read and write levels through the arrays returned by getHome and getFood
+ * of the current step; those arrays change after every step. Pheromone that diffuses into the
+ * padding ring is lost.
+ * <p>
+ * Dependencies: ParallelStepper
+ *
+ * @author Jay Yoon
+ */
+public class PheromoneField {
+
+  private static final int TILE_COLUMNS = 1024;
+  private final int width;
+  private final int height;
+  private final int paddedWidth;
+  private final float evaporation;
+  private final float keep;
+  private final float share;
+  private final ParallelStepper.BandAction pass = this::update;
+  private float[] home;
+  private float[] food;
+  private float[] nextHome;
+  private float[] nextFood;
+
+  /**
+   * creates a field without pheromone
+   * parameter: width and height of grid without the padding ring, level lost by every cell per
+   * step, fraction of a cell's level spread to its neighbors per step (0 for none)
+   */
+  public PheromoneField(int width, int height, float evaporation, float diffusion) {
+    this.width = width;
+    this.height = height;
+    this.paddedWidth = width + 2;
+    this.evaporation = evaporation;
+    this.keep = 1 - diffusion;
+    this.share = diffusion / 4;
+    int paddedSize = paddedWidth * (height + 2);
+    this.home = new float[paddedSize];
+    this.food = new float[paddedSize];
+    this.nextHome = new float[paddedSize];
+    this.nextFood = new float[paddedSize];
+  }
+
+  /**
+   * evaporates and diffuses both channels once
+   * parameter: ParallelStepper splitting rows into bands, null to run sequentially
+   */
+  public void step(ParallelStepper stepper) {
+    if (stepper == null) {
+      update(0, height);
+    } else {
+      stepper.run(height, pass);
+    }
+    float[] swap = home;
+    home = nextHome;
+    nextHome = swap;
+    swap = food;
+    food = nextFood;
+    nextFood = swap;
+  }
+
+  /**
+   * gets home pheromone of the current step, followed by ants carrying food
+   * return value: float array indexed by padded position
+   */
+  public float[] getHome() {
+    return home;
+  }
+
+  /**
+   * gets food pheromone of the current step, followed by ants looking for food
+   * return value: float array indexed by padded position
+   */
+  public float[] getFood() {
+    return food;
+  }
+
+  // rows are counted without the padding ring, so row y is padded row y + 1
+  private void update(int fromRow, int toRow) {
+    for (int left = 1; left <= width; left += TILE_COLUMNS) {
+      int right = Math.min(width, left + TILE_COLUMNS - 1);
+      for (int y = fromRow + 1; y <= toRow; y++) {
+        int from = y * paddedWidth + left;
+        int to = y * paddedWidth + right;
+        for (int i = from; i <= to; i++) {
+          nextHome[i] = Math.max(0f, keep * home[i] - evaporation + share
+              * (home[i - 1] + home[i + 1] + home[i - paddedWidth] + home[i + paddedWidth]));
+          nextFood[i] = Math.max(0f, keep * food[i] - evaporation + share
+              * (food[i - 1] + food[i + 1] + food[i - paddedWidth] + food[i + paddedWidth]));
+        }
+      }
+    }
+  }
+}
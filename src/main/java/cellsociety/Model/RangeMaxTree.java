@@ -0,0 +1,164 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: segment tree over a row or column of int values answering range maximum queries, and
+ * finding the first or last value of a range reaching a bound, in O(log n). Values change one at a
+ * time, each change updating the path from its leaf to the root.
+ * <p>
+ * Assumptions: ranges are given by inclusive indices and may be empty (from > to), in which case
+ * the maximum is EMPTY. Not thread safe.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class RangeMaxTree {
+
+  public static final int EMPTY = Integer.MIN_VALUE;
+  public static final int NOT_FOUND = -1;
+  private final int size;
+  private final int leaves;
+  // tree[1] is the root, children of node k are 2k and 2k + 1, leaf i is tree[leaves + i]
+  private final int[] tree;
+
+  /**
+   * creates a tree with every value EMPTY
+   * parameter: number of values
+   */
+  public RangeMaxTree(int size) {
+    this.size = size;
+    this.leaves = Integer.highestOneBit(Math.max(1, size - 1)) << 1;
+    this.tree = new int[2 * leaves];
+    Arrays.fill(tree, EMPTY);
+  }
+
+  /**
+   * sets a value
+   * parameter: index, new value
+   */
+  public void set(int index, int value) {
+    int node = leaves + index;
+    if (tree[node] == value) {
+      return;
+    }
+    tree[node] = value;
+    for (node >>= 1; node > 0; node >>= 1) {
+      int max = Math.max(tree[2 * node], tree[2 * node + 1]);
+      if (tree[node] == max) {
+        return;
+      }
+      tree[node] = max;
+    }
+  }
+
+  /**
+   * gets a value
+   * parameter: index
+   * return value: int value at index
+   */
+  public int get(int index) {
+    return tree[leaves + index];
+  }
+
+  /**
+   * gets largest value of a range
+   * parameter: first and last index of range
+   * return value: int value of maximum, EMPTY for an empty range
+   */
+  public int max(int from, int to) {
+    int max = EMPTY;
+    for (int lo = from + leaves, hi = to + leaves + 1; lo < hi; lo >>= 1, hi >>= 1) {
+      if ((lo & 1) == 1) {
+        max = Math.max(max, tree[lo++]);
+      }
+      if ((hi & 1) == 1) {
+        max = Math.max(max, tree[--hi]);
+      }
+    }
+    return max;
+  }
+
+  /**
+   * finds the lowest index of a range whose value is at least a bound
+   * parameter: first and last index of range, bound
+   * return value: index found, NOT_FOUND if every value of the range is below the bound
+   */
+  public int first(int from, int to, int bound) {
+    int rightLevels = 0;
+    int level = 0;
+    for (int lo = from + leaves, hi = to + leaves + 1; lo < hi; lo >>= 1, hi >>= 1, level++) {
+      if ((lo & 1) == 1) {
+        if (tree[lo] >= bound) {
+          return descend(lo, bound, 0);
+        }
+        lo++;
+      }
+      if ((hi & 1) == 1) {
+        rightLevels |= 1 << level;
+      }
+    }
+    // right nodes of the range lie further left the higher their level
+    while (rightLevels != 0) {
+      level = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(rightLevels);
+      int node = ((to + leaves + 1) >> level) - 1;
+      if (tree[node] >= bound) {
+        return descend(node, bound, 0);
+      }
+      rightLevels &= ~(1 << level);
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * finds the highest index of a range whose value is at least a bound
+   * parameter: first and last index of range, bound
+   * return value: index found, NOT_FOUND if every value of the range is below the bound
+   */
+  public int last(int from, int to, int bound) {
+    int leftLevels = 0;
+    int level = 0;
+    for (int lo = from + leaves, hi = to + leaves + 1; lo < hi; lo >>= 1, hi >>= 1, level++) {
+      if ((hi & 1) == 1) {
+        if (tree[hi - 1] >= bound) {
+          return descend(hi - 1, bound, 1);
+        }
+        hi--;
+      }
+      if ((lo & 1) == 1) {
+        leftLevels |= 1 << level;
+        lo++;
+      }
+    }
+    // left nodes of the range lie further right the higher their level
+    while (leftLevels != 0) {
+      level = Integer.SIZE - 1 - Integer.numberOfLeadingZeros(leftLevels);
+      int node = ((from + leaves - 1) >> level) + 1;
+      if (tree[node] >= bound) {
+        return descend(node, bound, 1);
+      }
+      leftLevels &= ~(1 << level);
+    }
+    return NOT_FOUND;
+  }
+
+  /**
+   * gets number of values
+   * return value: int value representing size
+   */
+  public int size() {
+    return size;
+  }
+
+  // walks down to a leaf reaching the bound, preferring the left (side 0) or right (side 1) child
+  private int descend(int node, int bound, int side) {
+    while (node < leaves) {
+      node = 2 * node + side;
+      if (tree[node] < bound) {
+        node ^= 1;
+      }
+    }
+    return node - leaves;
+  }
+}
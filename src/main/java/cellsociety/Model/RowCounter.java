@@ -0,0 +1,74 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: adds up neighbor indicators for a whole row of cells at once. Callers lay out the rows
+ * above, at and below the counted row as padded 0/1 arrays, and the count of every cell is the sum
+ * of those rows shifted left, not shifted and shifted right. This class is the scalar version;
+ * create returns the Vector API version when the jdk.incubator.vector module is present, so the
+ * same kernels run with or without it.
+ * <p>
+ * Assumptions: padded rows hold cell x at index x + 1, with indices 0 and width + 1 holding what
+ * lies past the left and right edges. Counts fit in a byte (at most 8 neighbors).
+ * <p>
+ * Dependencies: NeighborhoodKind, VectorRowCounter (loaded only when the module is present)
+ *
+ * @author Jay Yoon
+ */
+public class RowCounter {
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final String VECTOR_COUNTER = "cellsociety.Model.VectorRowCounter";
+
+  /**
+   * creates the fastest counter the running JVM supports
+   * return value: VectorRowCounter if the incubator module was added to the JVM, RowCounter
+   * otherwise
+   */
+  public static RowCounter create() {
+    if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+      return new RowCounter();
+    }
+    try {
+      return (RowCounter) Class.forName(VECTOR_COUNTER).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return new RowCounter();
+    }
+  }
+
+  /**
+   * tells whether counts are computed with vector instructions
+   * return value: false for the scalar counter
+   */
+  public boolean isVectorized() {
+    return false;
+  }
+
+  /**
+   * counts neighbors of every cell of a row. The cell itself is never counted.
+   * parameter: padded rows above, at and below the counted row, array of at least width bytes
+   * receiving the counts, number of cells in the row, MOORE or VON_NEUMANN
+   */
+  public void count(byte[] above, byte[] middle, byte[] below, byte[] counts, int width,
+      NeighborhoodKind kind) {
+    countRange(above, middle, below, counts, 0, width, kind);
+  }
+
+  /**
+   * scalar count over cells from (inclusive) to to (exclusive), also used for the tail of a row
+   * that does not fill a whole vector
+   * parameter: padded rows, counts, range of cells, MOORE or VON_NEUMANN
+   */
+  protected void countRange(byte[] above, byte[] middle, byte[] below, byte[] counts, int from,
+      int to, NeighborhoodKind kind) {
+    if (kind == NeighborhoodKind.VON_NEUMANN) {
+      for (int x = from; x < to; x++) {
+        counts[x] = (byte) (above[x + 1] + middle[x] + middle[x + 2] + below[x + 1]);
+      }
+      return;
+    }
+    for (int x = from; x < to; x++) {
+      counts[x] = (byte) (above[x] + above[x + 1] + above[x + 2] + middle[x] + middle[x + 2]
+          + below[x] + below[x + 1] + below[x + 2]);
+    }
+  }
+}
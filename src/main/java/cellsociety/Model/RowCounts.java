@@ -0,0 +1,116 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.Boundary;
+import java.util.Arrays;
+
+/**
+ * Purpose: walks a band of grid rows keeping the rows above, at and below the current one as
+ * padded 0/1 rows (1 where a cell is in the counted state), and counts the neighbors in that state
+ * of every cell of the current row with a RowCounter. Each cell is read once per step to fill its
+ * row, instead of once per neighbor that reads it.
+ * <p>
+ * Assumptions: padding follows the grid's boundary: past a clipped edge cells are not counted,
+ * past a fixed edge they are counted if the fixed state is the counted one, and torus and
+ * reflective edges show the cells NeighborTable would. A RowCounts holds the rows of one band, so
+ * every thread stepping the grid needs its own.
+ * <p>
+ * Dependencies: Grid, RowCounter, NeighborTable for boundary resolution, NeighborhoodKind
+ *
+ * @author Jay Yoon
+ */
+public class RowCounts {
+
+  private final Grid grid;
+  private final NeighborhoodKind kind;
+  private final int state;
+  private final RowCounter counter;
+  private final int width;
+  private final int height;
+  private final int[] columns;
+  private final byte outside;
+  private final byte[] counts;
+  private byte[] above;
+  private byte[] middle;
+  private byte[] below;
+  private int row;
+
+  /**
+   * creates the rows of one band
+   * parameter: Grid to count, MOORE or VON_NEUMANN, state whose cells are counted, RowCounter
+   * adding the rows up
+   */
+  public RowCounts(Grid grid, NeighborhoodKind kind, int state, RowCounter counter) {
+    this.grid = grid;
+    this.kind = kind;
+    this.state = state;
+    this.counter = counter;
+    this.width = grid.getWidth();
+    this.height = grid.getHeight();
+    Boundary boundary = grid.getBoundary();
+    columns = new int[width + 2];
+    for (int x = 0; x < columns.length; x++) {
+      columns[x] = NeighborTable.resolve(x - 1, width, boundary);
+    }
+    outside = (byte) (boundary == Boundary.FIXED_BOUNDARY
+        && grid.getType(width * height) == state ? 1 : 0);
+    counts = new byte[width];
+    above = new byte[width + 2];
+    middle = new byte[width + 2];
+    below = new byte[width + 2];
+  }
+
+  /**
+   * moves to a row, filling the rows around it from current states
+   * parameter: row to count next
+   */
+  public void start(int row) {
+    this.row = row;
+    fill(above, row - 1);
+    fill(middle, row);
+    fill(below, row + 1);
+  }
+
+  /**
+   * moves to the next row, filling only the new row below it
+   */
+  public void advance() {
+    byte[] reused = above;
+    above = middle;
+    middle = below;
+    below = reused;
+    row++;
+    fill(below, row + 1);
+  }
+
+  /**
+   * counts the neighbors in the counted state of every cell of the current row
+   * return value: array whose entry x is the count of cell x of the row, reused by the next call
+   */
+  public byte[] count() {
+    counter.count(above, middle, below, counts, width, kind);
+    return counts;
+  }
+
+  /**
+   * gets the padded row of the current row itself
+   * return value: array whose entry x + 1 is 1 if cell x is in the counted state
+   */
+  public byte[] current() {
+    return middle;
+  }
+
+  private void fill(byte[] padded, int y) {
+    int source = NeighborTable.resolve(y, height, grid.getBoundary());
+    if (source == NeighborTable.MISSING) {
+      Arrays.fill(padded, outside);
+      return;
+    }
+    int base = source * width;
+    for (int x = 0; x < width; x++) {
+      padded[x + 1] = (byte) (grid.getType(base + x) == state ? 1 : 0);
+    }
+    padded[0] = columns[0] == NeighborTable.MISSING ? outside : padded[columns[0] + 1];
+    padded[width + 1] = columns[width + 1] == NeighborTable.MISSING ? outside
+        : padded[columns[width + 1] + 1];
+  }
+}
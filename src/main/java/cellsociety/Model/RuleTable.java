@@ -0,0 +1,88 @@
+package cellsociety.Model;
+
+import java.util.List;
+
+/**
+ * Purpose: declarative rule of a simulation, read from the XML instead of written as a Cell
+ * subclass. Transitions are tried in order and the first one that matches gives the next state;
+ * a cell no transition matches keeps its state. Covers Wireworld, Brian's Brain, Greenberg-Hastings
+ * and similar rules whose conditions count neighbors in a given state.
+ * <p>
+ * Assumptions: states are 0 to states - 1. A transition with from ANY matches every state, and one
+ * with neighbor ANY has no neighbor condition; otherwise the number of neighbors in state neighbor
+ * must lie between min and max (inclusive). next is the reference interpreter, which
+ * RuleTableKernel follows.
+ * <p>
+ * Dependencies: NeighborhoodKind
+ *
+ * @author Jay Yoon
+ */
+public record RuleTable(int states, NeighborhoodKind kind, List<Transition> transitions) {
+
+  public static final int ANY = -1;
+  public static final int MIXED = -2;
+
+  /**
+   * one row of the rule table
+   * parameter: state the transition applies to (or ANY), next state, state of the neighbors
+   * counted (or ANY), inclusive range of that count
+   */
+  public record Transition(int from, int to, int neighbor, int min, int max) {
+
+    /**
+     * tells whether the transition applies to a cell
+     * parameter: state of cell, number of neighbors in each state
+     * return value: true if the transition gives the cell's next state
+     */
+    public boolean matches(int state, int[] counts) {
+      return (from == ANY || from == state)
+          && (neighbor == ANY || (counts[neighbor] >= min && counts[neighbor] <= max));
+    }
+  }
+
+  public RuleTable {
+    transitions = List.copyOf(transitions);
+    for (Transition t : transitions) {
+      if (!isState(t.from(), states) || t.to() < 0 || t.to() >= states
+          || !isState(t.neighbor(), states)) {
+        throw new IllegalArgumentException("transition refers to a missing state: " + t);
+      }
+    }
+  }
+
+  private static boolean isState(int state, int states) {
+    return state == ANY || (state >= 0 && state < states);
+  }
+
+  /**
+   * gets the one neighbor state the conditions count, if they all count the same state
+   * return value: counted state, ANY if no transition has a condition, MIXED if several states are
+   * counted
+   */
+  public int countedState() {
+    int counted = ANY;
+    for (Transition t : transitions) {
+      if (t.neighbor() != ANY && counted != ANY && t.neighbor() != counted) {
+        return MIXED;
+      }
+      if (t.neighbor() != ANY) {
+        counted = t.neighbor();
+      }
+    }
+    return counted;
+  }
+
+  /**
+   * computes next state of a cell by walking the transitions
+   * parameter: state of cell, number of neighbors in each state
+   * return value: next state of cell
+   */
+  public int next(int state, int[] counts) {
+    for (Transition t : transitions) {
+      if (t.matches(state, counts)) {
+        return t.to();
+      }
+    }
+    return state;
+  }
+}
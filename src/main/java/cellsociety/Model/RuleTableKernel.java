@@ -0,0 +1,172 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.CellShape;
+import java.util.Arrays;
+
+/**
+ * Purpose: steps any RuleTable directly over the Grid's StateStore, so a new simulation only needs
+ * an XML file. When every condition counts the same neighbor state (Wireworld, Brian's Brain,
+ * Greenberg-Hastings), the rule is tabulated once into a (state, count) to next state table and a
+ * step only counts that state and reads the table. Other tables with few states are tabulated the
+ * same way over the counts of every state, packed into one code as digits in base 9: a neighbor in
+ * state s adds 9^s to the code, so a cell costs one add per neighbor and one read of the table.
+ * Larger tables are interpreted: each cell's neighbors are tallied by state and only the
+ * transitions that can apply to the cell's state are tried, in table order, from flat arrays of
+ * their neighbor state, bounds and next state.
+ * <p>
+ * Assumptions: every state in the grid, including the state of a fixed boundary, is a state of the
+ * rule. A cell whose neighborhood did not change keeps its state, since the rule only reads the
+ * cell and its neighbors.
+ * <p>
+ * Dependencies: GridKernel, Grid, RuleTable, NeighborTable
+ *
+ * @author Jay Yoon
+ */
+public class RuleTableKernel implements GridKernel {
+
+  // largest neighborhood is Moore's 8 cells, so counts 0 to 8
+  private static final int COUNTS = 9;
+  private static final long MAX_LOOKUP = 1 << 20;
+  // a condition is {neighbor state or ANY, min, max, next state}
+  private static final int CONDITION = 4;
+  private final RuleTable table;
+  // weights[s] is what a neighbor in state s adds to the code of a neighborhood
+  private final int[] weights;
+  private final int codes;
+  // lookup[state * codes + code] is the next state, null if the table is interpreted
+  private final int[] lookup;
+  // conditions[state] holds the transitions from state or ANY, in table order
+  private final int[][] conditions;
+  // neighbor tally by state, one per thread stepping the grid
+  private final ThreadLocal<int[]> counts;
+  private NeighborTable neighbors;
+  private Grid tableGrid;
+
+  public RuleTableKernel(RuleTable table) {
+    this.table = table;
+    this.counts = ThreadLocal.withInitial(() -> new int[table.states()]);
+    this.weights = new int[table.states()];
+    int counted = table.countedState();
+    long size = COUNTS;
+    if (counted != RuleTable.MIXED) {
+      weights[counted == RuleTable.ANY ? 0 : counted] = 1;
+    } else {
+      size = 1;
+      for (int state = 0; state < weights.length && size * weights.length <= MAX_LOOKUP;
+          state++) {
+        weights[state] = (int) size;
+        size *= COUNTS;
+      }
+    }
+    this.codes = (int) Math.min(size, MAX_LOOKUP);
+    boolean small = size * weights.length <= MAX_LOOKUP;
+    this.lookup = small ? tabulate() : null;
+    this.conditions = small ? null : conditions();
+  }
+
+  private int[] tabulate() {
+    int[] result = new int[weights.length * codes];
+    int[] tally = new int[weights.length];
+    for (int code = 0; code < codes; code++) {
+      for (int state = 0; state < weights.length; state++) {
+        tally[state] = weights[state] == 0 ? 0 : code / weights[state] % COUNTS;
+      }
+      for (int state = 0; state < weights.length; state++) {
+        result[state * codes + code] = table.next(state, tally);
+      }
+    }
+    return result;
+  }
+
+  private int[][] conditions() {
+    int[][] result = new int[table.states()][];
+    for (int state = 0; state < result.length; state++) {
+      int[] flat = new int[table.transitions().size() * CONDITION];
+      int length = 0;
+      for (RuleTable.Transition t : table.transitions()) {
+        if (t.from() == RuleTable.ANY || t.from() == state) {
+          flat[length++] = t.neighbor();
+          flat[length++] = t.min();
+          flat[length++] = t.max();
+          flat[length++] = t.to();
+        }
+      }
+      result[state] = Arrays.copyOf(flat, length);
+    }
+    return result;
+  }
+
+  /**
+   * applies the rule to every cell in a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    NeighborTable stencil = getStencil(grid);
+    int[] tally = counts.get();
+    for (int i = fromRow * grid.getWidth(); i < toRow * grid.getWidth(); i++) {
+      apply(grid, stencil, i, tally);
+    }
+  }
+
+  /**
+   * applies the rule to a single cell
+   * parameter: Grid to be stepped, position of cell
+   */
+  @Override
+  public void apply(Grid grid, int index) {
+    apply(grid, getStencil(grid), index, counts.get());
+  }
+
+  /**
+   * rule tables only read a cell and its neighbors
+   * parameter: Grid to be stepped
+   * return value: NeighborTable of the table's neighborhood, following the grid's boundary
+   */
+  @Override
+  public NeighborTable getStencil(Grid grid) {
+    if (tableGrid != grid) {
+      neighbors = NeighborTable.of(CellShape.STANDARD_CELL, table.kind(), grid);
+      tableGrid = grid;
+    }
+    return neighbors;
+  }
+
+  /**
+   * tells whether the table was reduced to a lookup over neighbor counts
+   * return value: true if cells read the next state from a table, false if it is interpreted
+   */
+  public boolean isTabulated() {
+    return lookup != null;
+  }
+
+  private void apply(Grid grid, NeighborTable stencil, int index, int[] tally) {
+    int[] offsets = stencil.getOffsets();
+    int[] list = stencil.getNeighbors();
+    if (lookup != null) {
+      int code = 0;
+      for (int k = offsets[index]; k < offsets[index + 1]; k++) {
+        code += weights[grid.getType(list[k])];
+      }
+      grid.setNextState(index, lookup[grid.getType(index) * codes + code]);
+      return;
+    }
+    Arrays.fill(tally, 0);
+    for (int k = offsets[index]; k < offsets[index + 1]; k++) {
+      tally[grid.getType(list[k])]++;
+    }
+    grid.setNextState(index, next(grid.getType(index), tally));
+  }
+
+  private int next(int state, int[] tally) {
+    int[] flat = conditions[state];
+    for (int c = 0; c < flat.length; c += CONDITION) {
+      int neighbor = flat[c];
+      if (neighbor == RuleTable.ANY
+          || (tally[neighbor] >= flat[c + 1] && tally[neighbor] <= flat[c + 2])) {
+        return flat[c + 3];
+      }
+    }
+    return state;
+  }
+}
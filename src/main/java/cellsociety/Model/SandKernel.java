@@ -0,0 +1,85 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.CellShape;
+
+/**
+ * Purpose: Falling Sand and Water rule backed by a FallingSand box instead of CellSand objects.
+ * Each step sweeps the box once, and every cell the sweep changes is written into the Grid's next
+ * states and marked in the Grid's ActiveFrontier, so the Grid commits and redraws only those.
+ * <p>
+ * Assumptions: the box is loaded from the Grid's states on the first step and owns the simulation
+ * afterwards. The sweep is sequential, since every row reads the rows below it already moved; only
+ * committing the changed cells is split across threads. A kernel steps the grid it was loaded
+ * into, so each grid needs its own kernel.
+ * <p>
+ * Dependencies: GridKernel, FallingSand, ActiveFrontier
+ *
+ * @author Jay Yoon
+ */
+public class SandKernel implements GridKernel {
+
+  private FallingSand box;
+
+  /**
+   * loads the grid's layout on the first step, then sweeps the box once, writing the cells that
+   * changed
+   * parameter: Grid to be stepped
+   */
+  @Override
+  public void prepare(Grid grid) {
+    if (box == null) {
+      box = new FallingSand(grid.getWidth(), grid.getHeight());
+      for (int i = 0; i < grid.getSize(); i++) {
+        box.set(i, grid.getType(i));
+      }
+    }
+    box.step(grid.getRandom(), grid.getGeneration());
+    long[] changed = box.getChanged();
+    for (int word = 0; word < changed.length; word++) {
+      for (long bits = changed[word]; bits != 0; bits &= bits - 1) {
+        int i = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+        grid.setNextState(i, box.get(i));
+      }
+    }
+    grid.getFrontier().markChanged(changed);
+  }
+
+  /**
+   * copies the box into next states of a band of rows. The Grid never calls it, since the
+   * kernel's stencil makes it evaluate active cells through apply(grid, index), but GridKernel
+   * requires it and a caller stepping bands directly still gets every cell's state
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    for (int i = fromRow * grid.getWidth(); i < toRow * grid.getWidth(); i++) {
+      grid.setNextState(i, box.get(i));
+    }
+  }
+
+  /**
+   * does nothing, since prepare already wrote every cell that changed
+   * parameter: Grid to be stepped, position of cell
+   */
+  @Override
+  public void apply(Grid grid, int index) {
+  }
+
+  /**
+   * gets the neighbors whose changes a particle reacts to, so the Grid tracks changed cells
+   * parameter: Grid to be stepped
+   * return value: von Neumann NeighborTable of the grid
+   */
+  @Override
+  public NeighborTable getStencil(Grid grid) {
+    return NeighborTable.of(CellShape.STANDARD_CELL, NeighborhoodKind.VON_NEUMANN, grid);
+  }
+
+  /**
+   * gets box stepped by kernel, for its number of awake chunks
+   * return value: FallingSand box, null before the first step
+   */
+  public FallingSand getBox() {
+    return box;
+  }
+}
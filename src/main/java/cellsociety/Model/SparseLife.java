@@ -0,0 +1,190 @@
+package cellsociety.Model;
+
+import java.util.ArrayDeque;
+
+/**
+ * Purpose: unbounded Game of Life universe that only stores 64x64 tiles holding live cells. Tiles
+ * are bitboards of 64 longs (one per row) kept in a TileMap, so memory follows the live population
+ * rather than the area the pattern has travelled over.
+ * <p>
+ * Assumptions: the plane is unbounded and dead outside stored tiles. A tile is created when a cell
+ * next to it is alive and freed as soon as it holds no live cell. Freed tiles are reused, but no
+ * more are kept than there are live tiles, and the tile maps shrink with them, so after a burst of
+ * growth dies back both memory and the cost of a step follow the live tiles again. Bit k of row r of tile (x, y)
+ * holds the cell at column 64 * x + k and row 64 * y + r, with the layout's top-left cell at
+ * (0, 0).
+ * <p>
+ * Dependencies: TileMap, SwarConwayKernel for the word update
+ *
+ * @author Jay Yoon
+ */
+public class SparseLife {
+
+  public static final int TILE_SIZE = Long.SIZE;
+  private static final int LAST = TILE_SIZE - 1;
+  private static final long[] EMPTY = new long[TILE_SIZE];
+
+  private TileMap tiles = new TileMap();
+  private TileMap spare = new TileMap();
+  private final ArrayDeque<long[]> free = new ArrayDeque<>();
+  private final long[] center = new long[TILE_SIZE + 2];
+  private final long[] west = new long[TILE_SIZE + 2];
+  private final long[] east = new long[TILE_SIZE + 2];
+  private long generation;
+
+  /**
+   * replaces universe by a rectangular layout
+   * parameter: BitStateStore holding layout, width and height of layout
+   */
+  public void load(BitStateStore store, int width, int height) {
+    tiles.clear();
+    long[] words = store.getWords();
+    int stride = store.getWordsPerRow();
+    for (int row = 0; row < height; row++) {
+      for (int j = 0; j < stride; j++) {
+        long word = words[row * stride + j];
+        if (word != 0) {
+          long key = TileMap.key(j, Math.floorDiv(row, TILE_SIZE));
+          long[] tile = tiles.get(key);
+          if (tile == null) {
+            tile = new long[TILE_SIZE];
+            tiles.put(key, tile);
+          }
+          tile[row & LAST] = word;
+        }
+      }
+    }
+    generation = 0;
+  }
+
+  /**
+   * advances universe by one generation. Every stored tile is stepped, and so is every missing
+   * tile bordering a stored tile's live edge, since births can spill into it.
+   */
+  public void step() {
+    TileMap next = spare;
+    next.clear(tiles.size());
+    for (int slot = 0; slot < tiles.getCapacity(); slot++) {
+      long[] tile = tiles.tileAt(slot);
+      if (tile == null) {
+        continue;
+      }
+      int x = TileMap.tileX(tiles.keyAt(slot));
+      int y = TileMap.tileY(tiles.keyAt(slot));
+      for (int dy = -1; dy <= 1; dy++) {
+        for (int dx = -1; dx <= 1; dx++) {
+          long key = TileMap.key(x + dx, y + dy);
+          boolean self = dx == 0 && dy == 0;
+          if (self || (tiles.get(key) == null && next.get(key) == null
+              && touches(tile, dx, dy))) {
+            stepTile(x + dx, y + dy, next);
+          }
+        }
+      }
+    }
+    for (int slot = 0; slot < tiles.getCapacity(); slot++) {
+      if (tiles.tileAt(slot) != null) {
+        free.push(tiles.tileAt(slot));
+      }
+    }
+    spare = tiles;
+    tiles = next;
+    while (free.size() > tiles.size()) {
+      free.pop();
+    }
+    generation++;
+  }
+
+  // whether a tile has live cells on the side facing its neighbor in direction (dx, dy)
+  private static boolean touches(long[] tile, int dx, int dy) {
+    long rows = 0;
+    if (dy == 0) {
+      for (long row : tile) {
+        rows |= row;
+      }
+    } else {
+      rows = tile[dy < 0 ? 0 : LAST];
+    }
+    long edge = dx < 0 ? 1L : dx > 0 ? 1L << LAST : -1L;
+    return (rows & edge) != 0;
+  }
+
+  private void stepTile(int x, int y, TileMap next) {
+    long[] middle = tileOr(x, y);
+    long[] left = tileOr(x - 1, y);
+    long[] right = tileOr(x + 1, y);
+    long[] up = tileOr(x, y - 1);
+    long[] down = tileOr(x, y + 1);
+    setRow(0, up[LAST], tileOr(x - 1, y - 1)[LAST], tileOr(x + 1, y - 1)[LAST]);
+    for (int r = 0; r < TILE_SIZE; r++) {
+      setRow(r + 1, middle[r], left[r], right[r]);
+    }
+    setRow(TILE_SIZE + 1, down[0], tileOr(x - 1, y + 1)[0], tileOr(x + 1, y + 1)[0]);
+    long[] result = free.isEmpty() ? new long[TILE_SIZE] : free.pop();
+    long alive = 0;
+    for (int r = 0; r < TILE_SIZE; r++) {
+      result[r] = SwarConwayKernel.nextWord(west[r], center[r], east[r], west[r + 1],
+          center[r + 1], east[r + 1], west[r + 2], center[r + 2], east[r + 2]);
+      alive |= result[r];
+    }
+    if (alive == 0) {
+      free.push(result);
+    } else {
+      next.put(TileMap.key(x, y), result);
+    }
+  }
+
+  private void setRow(int index, long word, long leftWord, long rightWord) {
+    center[index] = word;
+    west[index] = (word << 1) | (leftWord >>> LAST);
+    east[index] = (word >>> 1) | (rightWord << LAST);
+  }
+
+  private long[] tileOr(int x, int y) {
+    long[] tile = tiles.get(TileMap.key(x, y));
+    return tile == null ? EMPTY : tile;
+  }
+
+  /**
+   * gets row of 64 cells starting at a multiple of 64 columns
+   * parameter: row of cells, index of 64-column word
+   * return value: long holding the 64 cells, 0 where no tile is stored
+   */
+  public long getWord(int row, int word) {
+    long[] tile = tiles.get(TileMap.key(word, Math.floorDiv(row, TILE_SIZE)));
+    return tile == null ? 0 : tile[row & LAST];
+  }
+
+  /**
+   * gets number of generations advanced since loading
+   * return value: long value representing generation
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * gets number of tiles currently stored
+   * return value: int value representing allocated tiles
+   */
+  public int getTileCount() {
+    return tiles.size();
+  }
+
+  /**
+   * gets number of live cells in the universe
+   * return value: long value representing population
+   */
+  public long getPopulation() {
+    long population = 0;
+    for (int slot = 0; slot < tiles.getCapacity(); slot++) {
+      long[] tile = tiles.tileAt(slot);
+      if (tile != null) {
+        for (long row : tile) {
+          population += Long.bitCount(row);
+        }
+      }
+    }
+    return population;
+  }
+}
@@ -0,0 +1,71 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: Game of Life rule backed by a SparseLife universe of 64x64 tiles. Each step advances the
+ * universe one generation, then copies the tiles under the Grid into the Grid's states for the
+ * view.
+ * <p>
+ * Assumptions: unlike the other Conway rules, the plane is unbounded: patterns leaving the Grid
+ * keep evolving outside it. The Grid's words line up with tile columns, so rendering copies whole
+ * words. A kernel steps the grid whose store it created, so each grid needs its own kernel.
+ * <p>
+ * Dependencies: GridKernel, SparseLife, BitStateStore
+ *
+ * @author Jay Yoon
+ */
+public class SparseLifeKernel implements GridKernel {
+
+  private final SparseLife universe = new SparseLife();
+  private BitStateStore store;
+  private boolean loaded;
+
+  /**
+   * creates bit-packed store the visible region is copied into
+   * parameter: width and height of grid
+   * return value: BitStateStore of grid
+   */
+  @Override
+  public StateStore createStore(int width, int height) {
+    store = new BitStateStore(width, height);
+    return store;
+  }
+
+  /**
+   * loads the grid's layout on the first step, then advances the universe one generation
+   * parameter: Grid to be stepped
+   */
+  @Override
+  public void prepare(Grid grid) {
+    if (!loaded) {
+      universe.load(store, grid.getWidth(), grid.getHeight());
+      loaded = true;
+    }
+    universe.step();
+  }
+
+  /**
+   * copies the universe into next states of a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    long[] next = store.getNextWords();
+    int stride = store.getWordsPerRow();
+    int tail = grid.getWidth() & (Long.SIZE - 1);
+    long lastMask = tail == 0 ? -1L : (1L << tail) - 1;
+    for (int row = fromRow; row < toRow; row++) {
+      for (int j = 0; j < stride; j++) {
+        long word = universe.getWord(row, j);
+        next[row * stride + j] = j == stride - 1 ? word & lastMask : word;
+      }
+    }
+  }
+
+  /**
+   * gets universe stepped by kernel, for its generation count and tile count
+   * return value: SparseLife universe
+   */
+  public SparseLife getUniverse() {
+    return universe;
+  }
+}
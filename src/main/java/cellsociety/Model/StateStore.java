@@ -0,0 +1,157 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: struct-of-arrays storage for the current and next state of every cell on a Grid. Cells
+ * no longer carry their own type fields; they read and write through the store by position.
+ * <p>
+ * Assumptions: states are non-negative integers smaller than the state count given on creation.
+ * The width of each entry adapts to the state count: 4 bits for up to 16 states, 8 bits for up to
+ * 256 states and a full int otherwise.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public abstract class StateStore {
+
+  public static final int NIBBLE_STATES = 16;
+  public static final int BYTE_STATES = 256;
+
+  private final int size;
+
+  protected StateStore(int size) {
+    this.size = size;
+  }
+
+  /**
+   * creates a store with the narrowest entry width that can hold every state
+   * parameter: number of cells, number of distinct states (largest state + 1)
+   * return value: StateStore sized for the grid
+   */
+  public static StateStore create(int size, int stateCount) {
+    if (stateCount <= NIBBLE_STATES) {
+      return new NibbleStateStore(size);
+    }
+    if (stateCount <= BYTE_STATES) {
+      return new ByteStateStore(size);
+    }
+    return new IntStateStore(size);
+  }
+
+  /**
+   * creates a store holding a single state, used by cells before they are placed on a Grid
+   * parameter: initial state
+   * return value: StateStore that ignores the position it is given
+   */
+  public static StateStore detached(int state) {
+    return new DetachedStateStore(state);
+  }
+
+  /**
+   * gets number of cells held by store
+   * return value: int value representing number of cells
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * gets current state of cell
+   * parameter: position of cell
+   * return value: int value representing current state
+   */
+  public abstract int get(int index);
+
+  /**
+   * gets next state of cell
+   * parameter: position of cell
+   * return value: int value representing next state
+   */
+  public abstract int getNext(int index);
+
+  /**
+   * sets both current and next state of cell, used when loading a layout
+   * parameter: position of cell, new state
+   */
+  public abstract void set(int index, int state);
+
+  /**
+   * sets next state of cell
+   * parameter: position of cell, new state
+   */
+  public abstract void setNext(int index, int state);
+
+  /**
+   * tells store whether next states may be written by several threads at once at arbitrary
+   * positions, as agents moving into claimed cells do. Stores that pack several cells into one
+   * array entry then update entries atomically.
+   * parameter: true if writes may be concurrent
+   */
+  public void setConcurrent(boolean concurrent) {
+  }
+
+  /**
+   * swaps current and next arrays. Only valid for rules that write the next state of every cell
+   * each generation, since the next array afterwards holds the previous generation.
+   */
+  public abstract void swap();
+
+  /**
+   * copies next array into current array. Cells that were not written this generation keep their
+   * state, which is what Cell based rules expect.
+   */
+  public void commit() {
+    commit(0, size);
+  }
+
+  /**
+   * copies next state into current state for positions from (inclusive) to to (exclusive)
+   * parameter: range of positions, from must be even so packed entries are not split
+   */
+  public abstract void commit(int from, int to);
+
+  private static class DetachedStateStore extends StateStore {
+
+    private int state;
+    private int nextState;
+
+    private DetachedStateStore(int state) {
+      super(1);
+      this.state = state;
+      this.nextState = state;
+    }
+
+    @Override
+    public int get(int index) {
+      return state;
+    }
+
+    @Override
+    public int getNext(int index) {
+      return nextState;
+    }
+
+    @Override
+    public void set(int index, int state) {
+      this.state = state;
+      this.nextState = state;
+    }
+
+    @Override
+    public void setNext(int index, int state) {
+      this.nextState = state;
+    }
+
+    @Override
+    public void swap() {
+      int temp = state;
+      state = nextState;
+      nextState = temp;
+    }
+
+    @Override
+    public void commit(int from, int to) {
+      state = nextState;
+    }
+  }
+}
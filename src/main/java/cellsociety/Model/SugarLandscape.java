@@ -0,0 +1,243 @@
+package cellsociety.Model;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Purpose: sugar of every patch of a SugarScape grid in primitive arrays, with a RangeMaxTree per
+ * row and per column over the sugar of the patches no agent stands on. An agent sees along its row
+ * and column up to its vision, so the richest patch it sees is found from four range queries in
+ * O(log n) instead of walking up to 4 * vision patches. Sugar grows back lazily: a patch only
+ * keeps the generation it was last harvested (or planted) and the sugar it had then, and its
+ * sugar at a later generation is min(limit, base + rate * floor(elapsed / interval)).
+ * <p>
+ * Assumptions: every patch starts empty and without sugar. Sugar and occupancy may change from
+ * several threads while a step resolves moves; each change queues its patch, and the trees take
+ * the queued patches in with one refresh when the next generation starts, before any agent looks.
+ * Patches still growing are listed by their last harvest generation modulo interval, so a refresh
+ * only updates the patches whose sugar changes in that generation, and patches at their limit
+ * cost nothing until they are harvested again. Ties go to the nearest patch, and between equally
+ * near patches north before west before south before east.
+ * <p>
+ * Dependencies: RangeMaxTree
+ *
+ * @author Jay Yoon
+ */
+public class SugarLandscape {
+
+  public static final int NONE = -1;
+  private static final long NO_GENERATION = -1;
+  private static final int NOT_GROWING = -1;
+  private static final int MIN_LIST = 16;
+  private static final VarHandle MARKS = MethodHandles.arrayElementVarHandle(int[].class);
+  private final int width;
+  private final int height;
+  private final int rate;
+  private final int interval;
+  private final int limit;
+  private final int[] base;
+  private final long[] touched;
+  private final boolean[] occupied;
+  private final RangeMaxTree[] rows;
+  private final RangeMaxTree[] columns;
+  private final int[] marks;
+  private final int[] changed;
+  private final AtomicInteger changedCount = new AtomicInteger();
+  // growing[phase]: patches below the limit whose last harvest generation is phase modulo
+  // interval; phases[position] tells which list is current, stale entries are dropped on the way
+  private final int[][] growing;
+  private final int[] growingSize;
+  private final int[] phases;
+  private volatile long refreshed = NO_GENERATION;
+
+  /**
+   * creates a landscape without sugar
+   * parameter: width and height of grid, sugar grown back at a time, number of generations
+   * between growbacks, most sugar a patch grows back to
+   */
+  public SugarLandscape(int width, int height, int rate, int interval, int limit) {
+    this.width = width;
+    this.height = height;
+    this.rate = rate;
+    this.interval = interval;
+    this.limit = limit;
+    this.base = new int[width * height];
+    this.touched = new long[width * height];
+    this.occupied = new boolean[width * height];
+    this.marks = new int[width * height];
+    this.changed = new int[width * height];
+    this.rows = new RangeMaxTree[height];
+    for (int row = 0; row < height; row++) {
+      rows[row] = new RangeMaxTree(width);
+    }
+    this.columns = new RangeMaxTree[width];
+    for (int col = 0; col < width; col++) {
+      columns[col] = new RangeMaxTree(height);
+    }
+    this.growing = new int[interval][MIN_LIST];
+    this.growingSize = new int[interval];
+    this.phases = new int[width * height];
+    Arrays.fill(phases, NOT_GROWING);
+    for (int i = 0; i < base.length; i++) {
+      queue(i);
+    }
+  }
+
+  /**
+   * gets sugar on a patch
+   * parameter: position of patch, generation
+   * return value: int value of sugar the patch had when last set, plus what grew back since
+   */
+  public int getSugar(int position, long generation) {
+    long grown = base[position] + rate * ((generation - touched[position]) / interval);
+    return (int) Math.min(Math.max(limit, base[position]), grown);
+  }
+
+  /**
+   * sets sugar on a patch, which grows back from there; a harvest sets it to 0
+   * parameter: position of patch, new amount of sugar, generation it is set in
+   */
+  public void setSugar(int position, int amount, long generation) {
+    base[position] = amount;
+    touched[position] = generation;
+    queue(position);
+  }
+
+  /**
+   * sets whether an agent stands on a patch; agents never see occupied patches
+   * parameter: position of patch, true if an agent stands on it
+   */
+  public void setOccupied(int position, boolean agent) {
+    if (occupied[position] != agent) {
+      occupied[position] = agent;
+      queue(position);
+    }
+  }
+
+  /**
+   * brings the trees to a generation once: updates the patches that grew back since the last
+   * refresh, then the queued patches
+   * parameter: generation being stepped
+   */
+  public void refresh(long generation) {
+    if (refreshed == generation) {
+      return;
+    }
+    synchronized (this) {
+      if (refreshed != generation) {
+        for (long g = Math.max(refreshed + 1, generation - interval + 1); g <= generation; g++) {
+          grow((int) (g % interval), generation);
+        }
+        int count = changedCount.getAndSet(0);
+        for (int i = 0; i < count; i++) {
+          int position = changed[i];
+          marks[position] = 0;
+          update(position, generation);
+          if (getSugar(position, generation) < limit) {
+            list(position);
+          }
+        }
+        refreshed = generation;
+      }
+    }
+  }
+
+  /**
+   * finds the free patch with the most sugar an agent sees along its row and column, as of the
+   * last refresh
+   * parameter: position of agent, how many patches far it sees
+   * return value: position of patch, NONE if every patch in sight is occupied
+   */
+  public int richest(int position, int vision) {
+    int row = position / width;
+    int col = position % width;
+    RangeMaxTree rowTree = rows[row];
+    RangeMaxTree colTree = columns[col];
+    int east = Math.min(width - 1, col + vision);
+    int south = Math.min(height - 1, row + vision);
+    int west = Math.max(0, col - vision);
+    int north = Math.max(0, row - vision);
+    int northMax = colTree.max(north, row - 1);
+    int westMax = rowTree.max(west, col - 1);
+    int southMax = colTree.max(row + 1, south);
+    int eastMax = rowTree.max(col + 1, east);
+    int max = Math.max(Math.max(northMax, westMax), Math.max(southMax, eastMax));
+    if (max == RangeMaxTree.EMPTY) {
+      return NONE;
+    }
+    int best = NONE;
+    int distance = Integer.MAX_VALUE;
+    if (northMax == max) {
+      int found = colTree.last(north, row - 1, max);
+      best = found * width + col;
+      distance = row - found;
+    }
+    if (westMax == max) {
+      int found = rowTree.last(west, col - 1, max);
+      if (col - found < distance) {
+        best = row * width + found;
+        distance = col - found;
+      }
+    }
+    if (southMax == max) {
+      int found = colTree.first(row + 1, south, max);
+      if (found - row < distance) {
+        best = found * width + col;
+        distance = found - row;
+      }
+    }
+    if (eastMax == max) {
+      int found = rowTree.first(col + 1, east, max);
+      if (found - col < distance) {
+        best = row * width + found;
+      }
+    }
+    return best;
+  }
+
+  // updates the growing patches of a phase, dropping those at the limit and stale entries
+  private void grow(int phase, long generation) {
+    int[] list = growing[phase];
+    int size = growingSize[phase];
+    int i = 0;
+    while (i < size) {
+      int position = list[i];
+      if (phases[position] == phase) {
+        update(position, generation);
+        if (getSugar(position, generation) < limit) {
+          i++;
+          continue;
+        }
+        phases[position] = NOT_GROWING;
+      }
+      list[i] = list[--size];
+    }
+    growingSize[phase] = size;
+  }
+
+  private void list(int position) {
+    int phase = (int) (touched[position] % interval);
+    if (phases[position] == phase) {
+      return;
+    }
+    phases[position] = phase;
+    if (growingSize[phase] == growing[phase].length) {
+      growing[phase] = Arrays.copyOf(growing[phase], 2 * growing[phase].length);
+    }
+    growing[phase][growingSize[phase]++] = position;
+  }
+
+  private void update(int position, long generation) {
+    int value = occupied[position] ? RangeMaxTree.EMPTY : getSugar(position, generation);
+    rows[position / width].set(position % width, value);
+    columns[position % width].set(position / width, value);
+  }
+
+  private void queue(int position) {
+    if (MARKS.compareAndSet(marks, position, 0, 1)) {
+      changed[changedCount.getAndIncrement()] = position;
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package cellsociety.Model;
+
+import cellsociety.Controller.Boundary;
+import java.util.Arrays;
+
+/**
+ * Purpose: counts alive cells inside radius-r Moore, von Neumann and circular neighborhoods with a
+ * cost per cell that does not grow with the radius. Every step the grid is copied into an array
+ * padded by r on each side, whose border holds what lies past the grid's boundary, and prefix sums
+ * are taken over it: a 2D summed-area table for squares and circles, and running sums of row
+ * prefixes along both diagonals for diamonds.
+ * <p>
+ * Assumptions: a square costs 4 lookups and a diamond 8, whatever the radius. A circle is cut into
+ * one rectangle per run of rows of equal width, about r rectangles of 4 lookups each. Cells count
+ * as alive in state 1; past a fixed boundary, cells count as alive if the fixed state is 1.
+ * <p>
+ * Dependencies: Grid, NeighborTable for boundary resolution, NeighborhoodKind
+ *
+ * @author Jay Yoon
+ */
+public class SummedAreaTable {
+
+  private static final int ALIVE_STATE = 1;
+  private final int width;
+  private final int height;
+  private final int radius;
+  private final NeighborhoodKind kind;
+  private final int paddedWidth;
+  private final int stride;
+  private final int[] sourceRows;
+  private final int[] sourceCols;
+  private final int[] rowPrefix;
+  private final byte[] alive;
+  // box[y * stride + x]: cells of padded rows < y and columns < x
+  private int[] box;
+  // diagonal[y * stride + x]: cells of row y in columns < x, plus diagonal at (y-1, x-1)
+  private int[] diagonal;
+  // antiDiagonal[y * stride + x]: cells of row y in columns < x, plus antiDiagonal at (y-1, x+1)
+  private int[] antiDiagonal;
+  // circles: first row offset, last row offset and half width of every rectangle
+  private int[] runs;
+
+  public SummedAreaTable(NeighborhoodKind kind, int radius, Grid grid) {
+    this.width = grid.getWidth();
+    this.height = grid.getHeight();
+    this.radius = radius;
+    this.kind = kind;
+    this.paddedWidth = width + 2 * radius;
+    int paddedHeight = height + 2 * radius;
+    this.stride = paddedWidth + 1;
+    sourceRows = sources(paddedHeight, height, grid.getBoundary());
+    sourceCols = sources(paddedWidth, width, grid.getBoundary());
+    rowPrefix = new int[stride];
+    alive = new byte[width * height];
+    if (kind == NeighborhoodKind.VON_NEUMANN) {
+      diagonal = new int[paddedHeight * stride];
+      antiDiagonal = new int[paddedHeight * stride];
+    } else {
+      box = new int[(paddedHeight + 1) * stride];
+    }
+    if (kind == NeighborhoodKind.CIRCULAR) {
+      runs = circleRuns(radius);
+    }
+  }
+
+  // grid row or column shown at every padded row or column, MISSING past a clipped or fixed edge
+  private int[] sources(int padded, int length, Boundary boundary) {
+    int[] sources = new int[padded];
+    for (int i = 0; i < padded; i++) {
+      sources[i] = NeighborTable.resolve(i - radius, length, boundary);
+    }
+    return sources;
+  }
+
+  // rows dy with dx * dx + dy * dy <= r * (r + 1), grouped into runs of equal half width
+  private static int[] circleRuns(int radius) {
+    int[] list = new int[3 * (2 * radius + 1)];
+    int count = 0;
+    for (int dy = -radius; dy <= radius; dy++) {
+      int half = 0;
+      while ((half + 1) * (half + 1) + dy * dy <= radius * (radius + 1)) {
+        half++;
+      }
+      if (count > 0 && list[count - 1] == half) {
+        list[count - 2] = dy;
+      } else {
+        list[count++] = dy;
+        list[count++] = dy;
+        list[count++] = half;
+      }
+    }
+    return Arrays.copyOf(list, count);
+  }
+
+  /**
+   * takes prefix sums of the grid's current states, once per step before counting
+   * parameter: Grid the table was built for
+   */
+  public void build(Grid grid) {
+    for (int i = 0; i < alive.length; i++) {
+      alive[i] = (byte) (grid.getType(i) == ALIVE_STATE ? 1 : 0);
+    }
+    int outside = grid.getBoundary() == Boundary.FIXED_BOUNDARY
+        && grid.getType(width * height) == ALIVE_STATE ? 1 : 0;
+    for (int y = 0; y < sourceRows.length; y++) {
+      int row = sourceRows[y];
+      for (int x = 0; x < paddedWidth; x++) {
+        int col = sourceCols[x];
+        int value = row == NeighborTable.MISSING || col == NeighborTable.MISSING ? outside
+            : alive[row * width + col];
+        rowPrefix[x + 1] = rowPrefix[x] + value;
+      }
+      if (box != null) {
+        for (int x = 0; x < stride; x++) {
+          box[(y + 1) * stride + x] = box[y * stride + x] + rowPrefix[x];
+        }
+      } else {
+        for (int x = 0; x < stride; x++) {
+          int i = y * stride + x;
+          diagonal[i] = rowPrefix[x] + (y > 0 && x > 0 ? diagonal[i - stride - 1] : 0);
+          antiDiagonal[i] = rowPrefix[x] + (y > 0 && x < paddedWidth
+              ? antiDiagonal[i - stride + 1] : 0);
+        }
+      }
+    }
+  }
+
+  /**
+   * counts alive cells in the neighborhood of every cell of a row, the cells themselves included.
+   * Works a whole row at a time so every lookup walks the tables in order.
+   * parameter: row of cells, array of at least width ints receiving the counts
+   */
+  public void countRow(int row, int[] counts) {
+    int y = row + radius;
+    if (kind == NeighborhoodKind.VON_NEUMANN) {
+      diamonds(y, counts);
+      return;
+    }
+    Arrays.fill(counts, 0, width, 0);
+    if (kind == NeighborhoodKind.CIRCULAR) {
+      for (int k = 0; k < runs.length; k += 3) {
+        addRectangles(y + runs[k], y + runs[k + 1], runs[k + 2], counts);
+      }
+    } else {
+      addRectangles(y - radius, y + radius, radius, counts);
+    }
+  }
+
+  // adds, for every column, the padded rows top to bottom (inclusive) within half columns
+  private void addRectangles(int top, int bottom, int half, int[] counts) {
+    int upper = top * stride + radius - half;
+    int lower = (bottom + 1) * stride + radius - half;
+    int span = 2 * half + 1;
+    for (int col = 0; col < width; col++) {
+      counts[col] += box[lower + col + span] - box[upper + col + span] - box[lower + col]
+          + box[upper + col];
+    }
+  }
+
+  // every row of a diamond is a difference of two row prefixes, and the prefixes on each side of
+  // its upper and lower halves line up along a diagonal. Sums along a diagonal start from the row
+  // above the diamond, which is past the padding only for the first row.
+  private void diamonds(int y, int[] counts) {
+    int r = radius;
+    int center = y * stride + r;
+    int bottom = (y + r) * stride + r;
+    int above = (y - r - 1) * stride + r;
+    boolean first = y == r;
+    for (int col = 0; col < width; col++) {
+      int right = diagonal[center + col + r + 1] + antiDiagonal[bottom + col + 1]
+          - antiDiagonal[center + col + r + 1];
+      int left = antiDiagonal[center + col - r] + diagonal[bottom + col]
+          - diagonal[center + col - r];
+      if (!first) {
+        right -= diagonal[above + col];
+        left -= antiDiagonal[above + col + 1];
+      }
+      counts[col] = right - left;
+    }
+  }
+}
@@ -0,0 +1,113 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: Game of Life rule on a BitStateStore, computing 64 cells per long. The eight neighbor
+ * bits of every cell in a word are added with bit-sliced full adders, so a whole word of cells is
+ * stepped with a few dozen bitwise operations instead of 64 neighbor loops.
+ * <p>
+ * Assumptions: same rules and clipped Moore neighborhood as CellConway and ConwayKernel (cells
+ * outside the grid are dead). A kernel steps the grid whose store it created, so each grid needs
+ * its own kernel.
+ * <p>
+ * Dependencies: GridKernel, Grid, BitStateStore
+ *
+ * @author Jay Yoon
+ */
+public class SwarConwayKernel implements GridKernel {
+
+  private BitStateStore store;
+
+  /**
+   * creates bit-packed store the kernel steps
+   * parameter: width and height of grid
+   * return value: BitStateStore of grid
+   */
+  @Override
+  public StateStore createStore(int width, int height) {
+    store = new BitStateStore(width, height);
+    return store;
+  }
+
+  /**
+   * applies Conway rules to every word of a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    long[] words = store.getWords();
+    long[] next = store.getNextWords();
+    int stride = store.getWordsPerRow();
+    int height = grid.getHeight();
+    int tail = grid.getWidth() & (Long.SIZE - 1);
+    long lastMask = tail == 0 ? -1L : (1L << tail) - 1;
+    for (int row = fromRow; row < toRow; row++) {
+      int base = row * stride;
+      int above = row > 0 ? base - stride : -1;
+      int below = row < height - 1 ? base + stride : -1;
+      for (int j = 0; j < stride; j++) {
+        long result = step(words, above, below, base, j, stride);
+        next[base + j] = j == stride - 1 ? result & lastMask : result;
+      }
+    }
+  }
+
+  private static long step(long[] words, int above, int below, int base, int j, int stride) {
+    long north = 0;
+    long northWest = 0;
+    long northEast = 0;
+    if (above >= 0) {
+      north = words[above + j];
+      northWest = west(words, above, j);
+      northEast = east(words, above, j, stride);
+    }
+    long south = 0;
+    long southWest = 0;
+    long southEast = 0;
+    if (below >= 0) {
+      south = words[below + j];
+      southWest = west(words, below, j);
+      southEast = east(words, below, j, stride);
+    }
+    return nextWord(northWest, north, northEast, west(words, base, j), words[base + j],
+        east(words, base, j, stride), southWest, south, southEast);
+  }
+
+  /**
+   * computes next states of 64 cells at once. Each argument holds, for every bit position, the
+   * state of the cell in that direction from the cell at that bit.
+   * parameter: words of the row above shifted west, unshifted and shifted east; same for the
+   * middle row (the middle word holds the cells themselves) and the row below
+   * return value: long holding next state of the 64 cells
+   */
+  public static long nextWord(long northWest, long north, long northEast, long west, long self,
+      long east, long southWest, long south, long southEast) {
+    // middle row: 2 neighbors, as a 2-bit sum
+    long m0 = west ^ east;
+    long m1 = west & east;
+    // rows above and below: 3 neighbors each, as 2-bit sums
+    long u0 = northWest ^ north ^ northEast;
+    long u1 = (northWest & north) | (northEast & (northWest ^ north));
+    long d0 = southWest ^ south ^ southEast;
+    long d1 = (southWest & south) | (southEast & (southWest ^ south));
+    // add the three 2-bit sums into bits of weight 1, 2, 4 and 8
+    long b0 = u0 ^ d0 ^ m0;
+    long carry = (u0 & d0) | (m0 & (u0 ^ d0));
+    long twos = u1 ^ d1 ^ m1;
+    long fours = (u1 & d1) | (m1 & (u1 ^ d1));
+    long b1 = twos ^ carry;
+    long b2 = fours ^ (twos & carry);
+    long b3 = fours & twos & carry;
+    // alive next step with exactly 3 neighbors, or with 2 when already alive
+    return b1 & ~b2 & ~b3 & (b0 | self);
+  }
+
+  private static long west(long[] words, int base, int j) {
+    long carry = j > 0 ? words[base + j - 1] >>> (Long.SIZE - 1) : 0;
+    return (words[base + j] << 1) | carry;
+  }
+
+  private static long east(long[] words, int base, int j, int stride) {
+    long carry = j < stride - 1 ? words[base + j + 1] << (Long.SIZE - 1) : 0;
+    return (words[base + j] >>> 1) | carry;
+  }
+}
@@ -0,0 +1,173 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: open-addressing hash map from a packed tile coordinate to the tile's bitboard, without
+ * boxing keys. Used by sparse simulations that only keep tiles where something is alive.
+ * <p>
+ * Assumptions: tiles are stored by reference and never null. Slots can be scanned directly with
+ * getCapacity, keyAt and tileAt; tileAt returns null for an empty slot. Tiles are only dropped all
+ * at once with clear, so probing never needs tombstones, and clear shrinks a map that grew far
+ * beyond the tiles it is about to hold, so slots follow the live tiles rather than their peak.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class TileMap {
+
+  private static final int MIN_CAPACITY = 16;
+  // a cleared map is reallocated once it has this many times the slots it needs
+  private static final int SHRINK_FACTOR = 4;
+  private long[] keys;
+  private long[][] tiles;
+  private int size;
+
+  public TileMap() {
+    keys = new long[MIN_CAPACITY];
+    tiles = new long[MIN_CAPACITY][];
+  }
+
+  /**
+   * packs tile coordinates into a key
+   * parameter: tile column and row
+   * return value: long key of tile
+   */
+  public static long key(int tileX, int tileY) {
+    return ((long) tileX << Integer.SIZE) | (tileY & 0xFFFFFFFFL);
+  }
+
+  /**
+   * gets tile column of a key
+   * parameter: long key of tile
+   * return value: int value representing tile column
+   */
+  public static int tileX(long key) {
+    return (int) (key >> Integer.SIZE);
+  }
+
+  /**
+   * gets tile row of a key
+   * parameter: long key of tile
+   * return value: int value representing tile row
+   */
+  public static int tileY(long key) {
+    return (int) key;
+  }
+
+  /**
+   * gets tile stored under a key
+   * parameter: long key of tile
+   * return value: bitboard of tile, null if absent
+   */
+  public long[] get(long key) {
+    for (int slot = slot(key); tiles[slot] != null; slot = (slot + 1) & mask()) {
+      if (keys[slot] == key) {
+        return tiles[slot];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * stores a tile under a key, replacing any tile stored before
+   * parameter: long key of tile, bitboard of tile
+   */
+  public void put(long key, long[] tile) {
+    if ((size + 1) * 2 > tiles.length) {
+      resize(tiles.length * 2);
+    }
+    int slot = slot(key);
+    while (tiles[slot] != null && keys[slot] != key) {
+      slot = (slot + 1) & mask();
+    }
+    if (tiles[slot] == null) {
+      size++;
+    }
+    keys[slot] = key;
+    tiles[slot] = tile;
+  }
+
+  /**
+   * removes every tile
+   */
+  public void clear() {
+    clear(0);
+  }
+
+  /**
+   * removes every tile, shrinking the map if it has far more slots than the tiles it is expected to
+   * hold next
+   * parameter: number of tiles expected to be put before the next clear
+   */
+  public void clear(int expected) {
+    int capacity = MIN_CAPACITY;
+    while (expected * 2 > capacity) {
+      capacity *= 2;
+    }
+    if (tiles.length >= SHRINK_FACTOR * capacity) {
+      keys = new long[capacity];
+      tiles = new long[capacity][];
+    } else {
+      Arrays.fill(tiles, null);
+    }
+    size = 0;
+  }
+
+  /**
+   * gets number of tiles stored
+   * return value: int value representing number of tiles
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * gets number of slots, for scanning the map with keyAt and tileAt
+   * return value: int value representing number of slots
+   */
+  public int getCapacity() {
+    return tiles.length;
+  }
+
+  /**
+   * gets key stored in a slot
+   * parameter: slot between 0 and capacity
+   * return value: long key, meaningless if slot is empty
+   */
+  public long keyAt(int slot) {
+    return keys[slot];
+  }
+
+  /**
+   * gets tile stored in a slot
+   * parameter: slot between 0 and capacity
+   * return value: bitboard of tile, null if slot is empty
+   */
+  public long[] tileAt(int slot) {
+    return tiles[slot];
+  }
+
+  private void resize(int capacity) {
+    long[] oldKeys = keys;
+    long[][] oldTiles = tiles;
+    keys = new long[capacity];
+    tiles = new long[capacity][];
+    size = 0;
+    for (int i = 0; i < oldTiles.length; i++) {
+      if (oldTiles[i] != null) {
+        put(oldKeys[i], oldTiles[i]);
+      }
+    }
+  }
+
+  private int mask() {
+    return tiles.length - 1;
+  }
+
+  private int slot(long key) {
+    long z = key * 0x9E3779B97F4A7C15L;
+    return (int) (z ^ (z >>> 32)) & mask();
+  }
+}
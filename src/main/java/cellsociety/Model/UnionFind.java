@@ -0,0 +1,97 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: disjoint sets over the integers 0 to size - 1, joined by size (the smaller tree hangs
+ * under the larger one) with path halving, so any sequence of unions and finds runs in nearly
+ * linear time.
+ * <p>
+ * Assumptions: elements are never removed. Not thread safe.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class UnionFind {
+
+  private final int[] parent;
+  private final int[] size;
+  private int largest;
+
+  public UnionFind(int size) {
+    this.parent = new int[size];
+    this.size = new int[size];
+    reset();
+  }
+
+  /**
+   * puts every element back into a set of its own, so one instance can serve many runs
+   */
+  public void reset() {
+    for (int i = 0; i < parent.length; i++) {
+      parent[i] = i;
+      size[i] = 1;
+    }
+    largest = parent.length > 0 ? 1 : 0;
+  }
+
+  /**
+   * finds the representative of an element's set, halving the path on the way
+   * parameter: element
+   * return value: int value shared by every element of the set
+   */
+  public int find(int element) {
+    while (parent[element] != element) {
+      parent[element] = parent[parent[element]];
+      element = parent[element];
+    }
+    return element;
+  }
+
+  /**
+   * joins the sets of two elements
+   * parameter: two elements
+   * return value: representative of the joined set
+   */
+  public int union(int a, int b) {
+    int rootA = find(a);
+    int rootB = find(b);
+    if (rootA == rootB) {
+      return rootA;
+    }
+    if (size[rootA] < size[rootB]) {
+      int temp = rootA;
+      rootA = rootB;
+      rootB = temp;
+    }
+    parent[rootB] = rootA;
+    size[rootA] += size[rootB];
+    largest = Math.max(largest, size[rootA]);
+    return rootA;
+  }
+
+  /**
+   * tells whether two elements are in the same set
+   * parameter: two elements
+   * return value: true if joined
+   */
+  public boolean connected(int a, int b) {
+    return find(a) == find(b);
+  }
+
+  /**
+   * gets number of elements in an element's set
+   * parameter: element
+   * return value: int value of at least 1
+   */
+  public int sizeOf(int element) {
+    return size[find(element)];
+  }
+
+  /**
+   * gets number of elements in the largest set
+   * return value: int value of the largest set size so far
+   */
+  public int getLargest() {
+    return largest;
+  }
+}
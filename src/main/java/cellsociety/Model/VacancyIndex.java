@@ -0,0 +1,87 @@
+package cellsociety.Model;
+
+import java.util.Arrays;
+
+/**
+ * Purpose: set of empty positions of a Grid that agents can move into. Positions are kept in a
+ * dense array with a map from position to slot, so adding, removing and picking a random vacancy
+ * all take constant time; a removed position is replaced by the last one.
+ * <p>
+ * Assumptions: the set only changes between steps, in ascending order of position, so the slot of
+ * every vacancy and therefore every random pick is the same however many threads step the grid.
+ * Not thread safe while changing.
+ * <p>
+ * Dependencies: No main dependencies
+ *
+ * @author Jay Yoon
+ */
+public class VacancyIndex {
+
+  private static final int ABSENT = -1;
+  private final int[] positions;
+  private final int[] slots;
+  private int size;
+
+  /**
+   * creates an empty set
+   * parameter: number of positions of the grid
+   */
+  public VacancyIndex(int capacity) {
+    positions = new int[capacity];
+    slots = new int[capacity];
+    Arrays.fill(slots, ABSENT);
+  }
+
+  /**
+   * adds a position, doing nothing if it is already vacant
+   * parameter: position of cell
+   */
+  public void add(int position) {
+    if (slots[position] != ABSENT) {
+      return;
+    }
+    slots[position] = size;
+    positions[size++] = position;
+  }
+
+  /**
+   * removes a position, doing nothing if it is not vacant
+   * parameter: position of cell
+   */
+  public void remove(int position) {
+    int slot = slots[position];
+    if (slot == ABSENT) {
+      return;
+    }
+    int last = positions[--size];
+    positions[slot] = last;
+    slots[last] = slot;
+    slots[position] = ABSENT;
+  }
+
+  /**
+   * tells whether a position is vacant
+   * parameter: position of cell
+   * return value: true if in the set
+   */
+  public boolean contains(int position) {
+    return slots[position] != ABSENT;
+  }
+
+  /**
+   * gets the vacancy in a slot, for picking one at random
+   * parameter: slot between 0 (inclusive) and size (exclusive)
+   * return value: position of vacant cell
+   */
+  public int get(int slot) {
+    return positions[slot];
+  }
+
+  /**
+   * gets number of vacancies
+   * return value: int value representing size of set
+   */
+  public int size() {
+    return size;
+  }
+}
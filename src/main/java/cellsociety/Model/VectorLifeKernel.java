@@ -0,0 +1,80 @@
+package cellsociety.Model;
+
+/**
+ * Purpose: Life-like rule on square cells stepped a row at a time. Live neighbors of a whole row
+ * are counted at once by a RowCounter, with vector instructions when the jdk.incubator.vector
+ * module is present, then each cell reads its next state from the rule's transition table.
+ * <p>
+ * Assumptions: cells are dead (0) or alive (1), including the state of a fixed boundary, and the
+ * rule does not use the hexagonal neighborhood. Every cell is written each step, so the Grid swaps
+ * its arrays instead of tracking changed cells.
+ * <p>
+ * Dependencies: GridKernel, Grid, LifeRule, RowCounts, RowCounter
+ *
+ * @author Jay Yoon
+ */
+public class VectorLifeKernel implements GridKernel {
+
+  private static final int ALIVE_STATE = 1;
+  private final LifeRule rule;
+  private final byte[] table;
+  private final RowCounter counter;
+
+  public VectorLifeKernel(LifeRule rule) {
+    this(rule, RowCounter.create());
+  }
+
+  /**
+   * creates a kernel adding rows with a given counter, to compare the vector and scalar counters
+   * parameter: LifeRule to apply, RowCounter adding the rows up
+   */
+  public VectorLifeKernel(LifeRule rule, RowCounter counter) {
+    if (rule.hex()) {
+      throw new IllegalArgumentException("row counts only cover square cells: " + rule);
+    }
+    this.rule = rule;
+    this.table = rule.table();
+    this.counter = counter;
+  }
+
+  /**
+   * applies the rule to every cell in a band of rows
+   * parameter: Grid to be stepped, range of rows
+   */
+  @Override
+  public void apply(Grid grid, int fromRow, int toRow) {
+    if (fromRow >= toRow) {
+      return;
+    }
+    int width = grid.getWidth();
+    RowCounts rows = new RowCounts(grid, rule.kind(), ALIVE_STATE, counter);
+    rows.start(fromRow);
+    for (int row = fromRow; row < toRow; row++) {
+      if (row > fromRow) {
+        rows.advance();
+      }
+      byte[] counts = rows.count();
+      byte[] alive = rows.current();
+      int base = row * width;
+      for (int x = 0; x < width; x++) {
+        grid.setNextState(base + x, table[alive[x + 1] * LifeRule.COUNTS + counts[x]]);
+      }
+    }
+  }
+
+  /**
+   * gets rule the kernel applies
+   * return value: LifeRule of kernel
+   */
+  public LifeRule getRule() {
+    return rule;
+  }
+
+  /**
+   * tells whether rows are added with vector instructions
+   * return value: true if the kernel's RowCounter is vectorized
+   */
+  public boolean isVectorized() {
+    return counter.isVectorized();
+  }
+}
@@ -5,6 +5,7 @@ import cellsociety.Controller.ConfigData;
 import cellsociety.Controller.SimulationController;
 import cellsociety.Controller.XMLController;
 import cellsociety.Controller.XMLException;
+import cellsociety.Model.HashLife;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -19,6 +20,7 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
+import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
@@ -43,6 +45,7 @@ public class SimulationUI extends Application {
   public static final int CHART_HEIGHT = 200;
   public static final double CHART_WIDTH = 400;
   private static final Color BACKGROUND = Color.WHITE;
+  private static final int STATUS_SPACING = 10;
 
   public static final String DEFAULT_RESOURCE_PACKAGE = "cellsociety.version";
   private static final String TITLE = "Cell Automata";
@@ -65,6 +68,7 @@ public class SimulationUI extends Application {
   private static Scene setUpScene(int width, int height, Paint background, Group root,
       SimulationController simController, ResourceBundle resourceBundle, AboutData about) {
     StackPane charts = createLineChart(simController, root, simController.getTimeline());
+    createStatus(simController, root, simController.getTimeline(), resourceBundle);
     ctrlButtons.addControlButtons(root, simController);
     modelButtons.addModelButtons(root, simController, resourceBundle, about);
     viewButtons.addViewButtons(root, charts);
@@ -160,6 +164,30 @@ public class SimulationUI extends Application {
     return holder;
   }
 
+  private static void createStatus(SimulationController simController, Group root,
+      Timeline timeline, ResourceBundle resourceBundle) {
+    Label status = new Label();
+    timeline.getKeyFrames().add(new KeyFrame(Duration.millis(SimulationController.SECOND_DELAY),
+        e -> status.setText(statusText(simController, resourceBundle))));
+    status.setLayoutY(2 * Buttons.BUTTON_HEIGHT + CHART_HEIGHT + STATUS_SPACING);
+    status.setLayoutX(SCREEN_WIDTH - CHART_WIDTH);
+    root.getChildren().add(status);
+  }
+
+  // engine statistics worth showing next to the chart, empty when the engine has none
+  private static String statusText(SimulationController simController,
+      ResourceBundle resourceBundle) {
+    if (simController.hasPercolationSolver()) {
+      return resourceBundle.getString(simController.percolates() ? "PERCOLATES" : "BLOCKED");
+    }
+    HashLife.CacheStats stats = simController.getCacheStats();
+    if (stats == null) {
+      return "";
+    }
+    return String.format(resourceBundle.getString("CACHE"), stats.size(), stats.capacity(),
+        stats.nodes(), 100 * stats.hitRate());
+  }
+
   private static void main(String[] args) {
     launch(args);
   }